@@ -13,6 +13,56 @@ import java.util.function.Consumer;
 
 public interface AbstractLinter {
     List<? extends AbstractProblem> checkFile(Path file, JavaVersion version, CheckConfiguration checkConfiguration, Consumer<Translatable> statusConsumer) throws LinterException, IOException;
+
+    /**
+     * Checks a submission like {@link #checkFile(Path, JavaVersion, CheckConfiguration, Consumer)} and measures
+     * the resources used by the individual phases (compiling, building the model, each check, ...).
+     * <p>
+     * The checks are executed in a way that allows measuring each of them on its own, which makes this slower
+     * than {@link #checkFile(Path, JavaVersion, CheckConfiguration, Consumer)}.
+     *
+     * @param file the root folder of the submission
+     * @param version the java version of the submission
+     * @param checkConfiguration the configuration of the checks
+     * @param statusConsumer a consumer that is notified about the progress
+     * @return the found problems together with the report
+     * @throws LinterException if the submission could not be checked
+     * @throws IOException if an I/O error occurs
+     */
+    LintResult<? extends AbstractProblem> checkFileWithReport(Path file, JavaVersion version, CheckConfiguration checkConfiguration, Consumer<Translatable> statusConsumer) throws LinterException, IOException;
+
+    /**
+     * Checks a submission like {@link #checkFile(Path, JavaVersion, CheckConfiguration, Consumer)}, but delivers
+     * the problems as soon as the check that found them has completed.
+     * <p>
+     * The problems of a check are filtered and merged like the ones returned by the other methods, so all problems of
+     * a check are delivered together. The order in which the checks complete is not deterministic.
+     * The consumer is never called concurrently.
+     *
+     * @param file the root folder of the submission
+     * @param version the java version of the submission
+     * @param checkConfiguration the configuration of the checks
+     * @param statusConsumer a consumer that is notified about the progress
+     * @param problemConsumer a consumer that is notified about each found problem
+     * @throws LinterException if the submission could not be checked
+     * @throws IOException if an I/O error occurs
+     */
+    void checkFile(Path file, JavaVersion version, CheckConfiguration checkConfiguration, Consumer<Translatable> statusConsumer, Consumer<? super AbstractProblem> problemConsumer) throws LinterException, IOException;
+
+    /**
+     * Checks multiple submissions with the same configuration.
+     * <p>
+     * Everything that does not depend on a submission (the checks, the linters, ...) is only created once
+     * and reused for all submissions. A submission that fails to be checked does not abort the others.
+     *
+     * @param files the root folders of the submissions
+     * @param version the java version of all submissions
+     * @param checkConfiguration the configuration used for all submissions
+     * @param statusConsumer a consumer that is notified about the progress
+     * @return one result per submission in the order of the given files
+     */
+    List<? extends SubmissionResult<? extends AbstractProblem>> checkFiles(Iterable<Path> files, JavaVersion version, CheckConfiguration checkConfiguration, Consumer<Translatable> statusConsumer);
+
     String translateMessage(Translatable translatable);
 
     static Builder builder(Locale locale) {
@@ -25,6 +75,9 @@ public interface AbstractLinter {
         private int threads;
         private ClassLoader classLoader;
         private int maxProblemsPerCheck = -1;
+        private Path modelCacheDirectory;
+        private Path linterCacheDirectory;
+        private boolean preloadResources;
         private List<FluentResource> messageOverrides = new ArrayList<>();
         private Map<AbstractProblemType, List<FluentResource>> conditionalOverrides = new HashMap<>();
 
@@ -41,6 +94,16 @@ public interface AbstractLinter {
             return tempLocation;
         }
 
+        /**
+         * Sets the number of threads used for linting a submission.
+         * <p>
+         * With more than one thread, the linters (e.g. PMD and the integrated analysis) run at the same time,
+         * and the checks of a linter might run in parallel as well.
+         *
+         * @param threads the number of threads, 1 to do everything on the calling thread, 0 or less to pick
+         *                a value based on the number of available processors
+         * @return this
+         */
         public Builder threads(int threads) {
             this.threads = threads;
             return this;
@@ -68,6 +131,60 @@ public interface AbstractLinter {
             return classLoader;
         }
 
+        /**
+         * Enables caching of the built code models in the given directory.
+         * <p>
+         * Building the model is one of the most expensive steps of the analysis. With the cache, checking
+         * an unchanged submission again (e.g. after the check configuration changed) restores the model
+         * instead of building it again.
+         *
+         * @param modelCacheDirectory the directory in which the models are stored, null disables the cache
+         * @return this
+         */
+        public Builder modelCacheDirectory(Path modelCacheDirectory) {
+            this.modelCacheDirectory = modelCacheDirectory;
+            return this;
+        }
+
+        public Path getModelCacheDirectory() {
+            return modelCacheDirectory;
+        }
+
+        /**
+         * Enables caching of the results of the linters that support it (currently PMD) in the given directory.
+         * <p>
+         * The results are cached per file, so checking a submission again only lints the files that changed.
+         *
+         * @param linterCacheDirectory the directory in which the results are stored, null disables the cache
+         * @return this
+         */
+        public Builder linterCacheDirectory(Path linterCacheDirectory) {
+            this.linterCacheDirectory = linterCacheDirectory;
+            return this;
+        }
+
+        public Path getLinterCacheDirectory() {
+            return linterCacheDirectory;
+        }
+
+        /**
+         * Creates the expensive resources of all checks (e.g. language models) when the linter is created.
+         * <p>
+         * The resources are shared by all linters of the process. By default, they are created when the first
+         * check that needs them is executed, which delays checking the first submission.
+         *
+         * @param preloadResources whether the resources should be created immediately
+         * @return this
+         */
+        public Builder preloadResources(boolean preloadResources) {
+            this.preloadResources = preloadResources;
+            return this;
+        }
+
+        public boolean isPreloadResources() {
+            return preloadResources;
+        }
+
         public Locale getLocale() {
             return locale;
         }
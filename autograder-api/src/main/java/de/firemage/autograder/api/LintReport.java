@@ -0,0 +1,32 @@
+package de.firemage.autograder.api;
+
+import java.util.List;
+
+/**
+ * Describes how long the individual phases of checking a submission took.
+ * <p>
+ * The phases might be nested (e.g. the model is built while a linter is running) and some phases
+ * are executed in parallel, so the times do not add up to the total time.
+ *
+ * @param measurements the measured phases in the order in which they completed
+ */
+public record LintReport(List<Measurement> measurements) {
+    public LintReport {
+        measurements = List.copyOf(measurements);
+    }
+
+    /**
+     * The resources used by one phase.
+     * <p>
+     * The cpu time and the allocated bytes only include the work done by the thread that executed the phase,
+     * not the work of other threads (or processes) the phase waited for.
+     *
+     * @param phase the name of the phase
+     * @param thread the name of the thread that executed the phase
+     * @param wallTimeNanos the elapsed time in nanoseconds
+     * @param cpuTimeNanos the cpu time of the thread in nanoseconds, -1 if the jvm does not support measuring it
+     * @param allocatedBytes the bytes allocated by the thread, -1 if the jvm does not support measuring it
+     */
+    public record Measurement(String phase, String thread, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+    }
+}
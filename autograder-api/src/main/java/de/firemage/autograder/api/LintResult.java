@@ -0,0 +1,13 @@
+package de.firemage.autograder.api;
+
+import java.util.List;
+
+/**
+ * The problems found in a submission together with a report on how long finding them took.
+ *
+ * @param problems the problems found in the submission
+ * @param report the resources used by the individual phases
+ * @param <P> the type of the reported problems
+ */
+public record LintResult<P extends AbstractProblem>(List<P> problems, LintReport report) {
+}
@@ -0,0 +1,32 @@
+package de.firemage.autograder.api;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The outcome of linting one submission in a batch.
+ * <p>
+ * Either the problems are present or the exception that prevented the submission from being checked
+ * (for example, because it does not compile).
+ *
+ * @param file the path of the submission that has been checked
+ * @param problems the problems found in the submission, null if the check failed
+ * @param failure the exception that has been thrown while checking, null if the check succeeded
+ * @param <P> the type of the reported problems
+ */
+public record SubmissionResult<P extends AbstractProblem>(Path file, List<P> problems, Exception failure) {
+    public static <P extends AbstractProblem> SubmissionResult<P> success(Path file, List<P> problems) {
+        Objects.requireNonNull(problems);
+        return new SubmissionResult<>(file, problems, null);
+    }
+
+    public static <P extends AbstractProblem> SubmissionResult<P> failure(Path file, Exception failure) {
+        Objects.requireNonNull(failure);
+        return new SubmissionResult<>(file, null, failure);
+    }
+
+    public boolean isSuccessful() {
+        return this.failure == null;
+    }
+}
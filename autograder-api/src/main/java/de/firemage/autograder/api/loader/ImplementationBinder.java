@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -66,13 +67,10 @@ public class ImplementationBinder<T> {
 
         String superTypeName = superType.getName();
         if (!reflectionCache.containsKey(superTypeName)) {
-            var config = new ConfigurationBuilder()
-                    .setUrls(ClasspathHelper.forPackage("de.firemage.autograder", this.classLoader))
-                    .forPackage("de.firemage.autograder")
-                    .setClassLoaders(new ClassLoader[]{this.classLoader})
-                    .setExpandSuperTypes(false)
-                    .setScanners(SubTypes);
-            var implementations = new Reflections(config).get(SubTypes.of(this.superType).asClass(this.classLoader));
+            // the index is created at compile time, scanning the classpath is only a fallback because it is slow
+            Collection<Class<?>> implementations = ImplementationIndex.findImplementations(this.superType, this.classLoader)
+                .map(this::loadClasses)
+                .orElseGet(this::scanForImplementations);
 
             if (implementations.isEmpty()) {
                 throw new IllegalStateException("No implementation found for " + superTypeName + ". Check your classpath.");
@@ -90,6 +88,29 @@ public class ImplementationBinder<T> {
         return implementation;
     }
 
+    private Collection<Class<?>> loadClasses(List<String> names) {
+        List<Class<?>> result = new ArrayList<>();
+        for (String name : names) {
+            try {
+                result.add(Class.forName(name, false, this.classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("The indexed implementation " + name + " of " + superType.getName() + " could not be loaded", e);
+            }
+        }
+
+        return result;
+    }
+
+    private Collection<Class<?>> scanForImplementations() {
+        var config = new ConfigurationBuilder()
+                .setUrls(ClasspathHelper.forPackage("de.firemage.autograder", this.classLoader))
+                .forPackage("de.firemage.autograder")
+                .setClassLoaders(new ClassLoader[]{this.classLoader})
+                .setExpandSuperTypes(false)
+                .setScanners(SubTypes);
+        return new Reflections(config).get(SubTypes.of(this.superType).asClass(this.classLoader));
+    }
+
     public static void invalidateCache() {
         reflectionCache.clear();
     }
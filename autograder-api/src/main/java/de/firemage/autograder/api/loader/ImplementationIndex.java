@@ -0,0 +1,86 @@
+package de.firemage.autograder.api.loader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Reads the index that is created at compile time by the autograder-processor.
+ * <p>
+ * Each module has its own index, the entries of all modules on the classpath are combined and sorted by name.
+ * If no module has an index (e.g. when the annotation processor did not run), the methods return an empty optional,
+ * so the caller can fall back to scanning the classpath.
+ */
+public final class ImplementationIndex {
+    private static final String CHECKS_RESOURCE = "META-INF/autograder/checks";
+    private static final String IMPLEMENTATIONS_RESOURCE = "META-INF/autograder/implementations/";
+
+    private ImplementationIndex() {
+    }
+
+    /**
+     * Finds the indexed implementations of the given type.
+     *
+     * @param superType the implemented type
+     * @param classLoader the class loader to load the index with
+     * @return the binary names of the implementations or empty if there is no index for the type
+     */
+    public static Optional<List<String>> findImplementations(Class<?> superType, ClassLoader classLoader) {
+        return readLines(IMPLEMENTATIONS_RESOURCE + superType.getName(), classLoader)
+            .map(lines -> List.copyOf(new TreeSet<>(lines)));
+    }
+
+    /**
+     * Finds the indexed checks.
+     *
+     * @param classLoader the class loader to load the index with
+     * @return the names of the problem types reported by each check or empty if there is no index
+     */
+    public static Optional<Map<String, List<String>>> findChecks(ClassLoader classLoader) {
+        return readLines(CHECKS_RESOURCE, classLoader).map(lines -> {
+            Map<String, List<String>> result = new TreeMap<>();
+            for (String line : lines) {
+                String[] parts = line.split("=", 2);
+                if (parts.length != 2) {
+                    throw new IllegalStateException("Invalid line in check index: " + line);
+                }
+
+                List<String> problems = parts[1].isEmpty() ? List.of() : Arrays.asList(parts[1].split(","));
+                result.put(parts[0], List.copyOf(problems));
+            }
+
+            return Collections.unmodifiableMap(result);
+        });
+    }
+
+    private static Optional<List<String>> readLines(String resource, ClassLoader classLoader) {
+        try {
+            List<URL> urls = Collections.list(classLoader.getResources(resource));
+            if (urls.isEmpty()) {
+                return Optional.empty();
+            }
+
+            List<String> lines = new ArrayList<>();
+            for (URL url : urls) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().filter(line -> !line.isBlank()).forEach(lines::add);
+                }
+            }
+
+            return Optional.of(lines);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to read " + resource, exception);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.core.integrated.IntegratedCheck;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the benchmarks with the JMH command line options.
+ * <p>
+ * In addition to the plain JMH launcher, the results are written as JSON to {@value #DEFAULT_RESULT_FILE}
+ * (unless {@code -rf} or {@code -rff} are given), and all indexed integrated checks are benchmarked
+ * (unless {@code -p check=...} is given).
+ */
+public final class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "autograder-bench.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListProfilers()
+            || commandLineOptions.shouldListWithParams() || commandLineOptions.shouldListResultFormats()) {
+            // only the plain launcher knows how to print these
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+        if (commandLineOptions.getResultFormat().hasValue() || commandLineOptions.getResult().hasValue()) {
+            options.resultFormat(commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON));
+        } else {
+            options.resultFormat(ResultFormatType.JSON).result(DEFAULT_RESULT_FILE);
+        }
+
+        if (!commandLineOptions.getParameter("check").hasValue()) {
+            options.param("check", Checks.namesOf(IntegratedCheck.class).toArray(String[]::new));
+        }
+
+        new Runner(options.build()).run();
+    }
+}
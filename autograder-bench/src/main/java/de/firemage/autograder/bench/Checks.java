@@ -0,0 +1,41 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.api.loader.ImplementationIndex;
+import de.firemage.autograder.core.check.Check;
+
+import java.util.List;
+
+/**
+ * Finds the checks through the index that is created at compile time.
+ */
+final class Checks {
+    private static final ClassLoader CLASS_LOADER = Checks.class.getClassLoader();
+
+    private Checks() {
+    }
+
+    static List<String> namesOf(Class<? extends Check> type) {
+        return ImplementationIndex.findChecks(CLASS_LOADER)
+            .orElseThrow(() -> new IllegalStateException("The checks have not been indexed"))
+            .keySet()
+            .stream()
+            .filter(name -> type.isAssignableFrom(load(name)))
+            .toList();
+    }
+
+    static <T extends Check> T instantiate(String name, Class<T> type) {
+        try {
+            return type.cast(load(name).getConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to instantiate check " + name, e);
+        }
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name, false, CLASS_LOADER);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The check " + name + " does not exist", e);
+        }
+    }
+}
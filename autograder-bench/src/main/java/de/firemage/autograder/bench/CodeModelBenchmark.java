@@ -0,0 +1,58 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.core.CodeModel;
+import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.integrated.DuplicateCodeFinder;
+import de.firemage.autograder.core.integrated.MethodHierarchy;
+import de.firemage.autograder.core.integrated.UsesFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import spoon.reflect.CtModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the spoon model and the indexes that are built for it.
+ * <p>
+ * The indexes are rebuilt for the model of the submission, which replaces the previous index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CodeModelBenchmark {
+    @Benchmark
+    public CtModel buildModel(Submission submission) {
+        UploadedFile file = submission.getFile();
+        try (CodeModel model = CodeModel.buildFor(file.getSource(), file.getCompilationResult(), null)) {
+            return model.getModel();
+        }
+    }
+
+    @Benchmark
+    public CtModel buildUsesFinder(Submission submission) {
+        CtModel model = submission.getFile().getModel().getModel();
+        UsesFinder.buildFor(model);
+        return model;
+    }
+
+    @Benchmark
+    public CtModel buildMethodHierarchy(Submission submission) {
+        CtModel model = submission.getFile().getModel().getModel();
+        MethodHierarchy.buildFor(model);
+        return model;
+    }
+
+    @Benchmark
+    public CtModel buildDuplicateCodeFinder(Submission submission) {
+        CtModel model = submission.getFile().getModel().getModel();
+        DuplicateCodeFinder.buildFor(model);
+        return model;
+    }
+}
@@ -0,0 +1,30 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.core.compiler.CompilationFailureException;
+import de.firemage.autograder.core.compiler.CompilationResult;
+import de.firemage.autograder.core.compiler.Compiler;
+import de.firemage.autograder.core.file.SourceInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CompilerBenchmark {
+    @Benchmark
+    public Optional<CompilationResult> compile(Submission submission) throws IOException, CompilationFailureException {
+        SourceInfo source = submission.getFile().getSource();
+        return new Compiler(source.getVersion()).compile(source);
+    }
+}
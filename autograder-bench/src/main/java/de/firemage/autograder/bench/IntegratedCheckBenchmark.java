@@ -0,0 +1,51 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.core.Problem;
+import de.firemage.autograder.core.integrated.IntegratedCheck;
+import de.firemage.autograder.core.integrated.StaticAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single integrated check on its own.
+ * <p>
+ * The checks are not listed here, {@link BenchmarkRunner} passes all indexed integrated checks
+ * unless specific ones are selected with {@code -p check=<class>,...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class IntegratedCheckBenchmark {
+    @Param({})
+    private String check;
+
+    private IntegratedCheck instance;
+    private StaticAnalysis staticAnalysis;
+
+    @Setup(Level.Trial)
+    public void setup(Submission submission) {
+        this.instance = Checks.instantiate(this.check, IntegratedCheck.class);
+        this.staticAnalysis = new StaticAnalysis(submission.getFile().getModel(), submission.getFile().getCompilationResult());
+    }
+
+    @Benchmark
+    public List<Problem> run(Submission submission) {
+        return this.instance.run(this.staticAnalysis, submission.getFile().getSource());
+    }
+}
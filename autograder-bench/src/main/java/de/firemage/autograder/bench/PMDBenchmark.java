@@ -0,0 +1,64 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.core.Problem;
+import de.firemage.autograder.core.parallel.AnalysisScheduler;
+import de.firemage.autograder.extra.pmd.PMDCheck;
+import de.firemage.autograder.extra.pmd.PMDLinter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures running all PMD checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PMDBenchmark {
+    private PMDLinter linter;
+    private List<PMDCheck> checks;
+    private AnalysisScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.linter = new PMDLinter();
+        this.checks = Checks.namesOf(PMDCheck.class)
+            .stream()
+            .map(name -> Checks.instantiate(name, PMDCheck.class))
+            .toList();
+        this.scheduler = new AnalysisScheduler(1, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.scheduler.close();
+    }
+
+    @Benchmark
+    public List<Problem> lint(Submission submission) throws IOException {
+        return this.linter.lint(
+            submission.getFile(),
+            null,
+            this.scheduler,
+            this.checks,
+            status -> {
+            }
+        );
+    }
+}
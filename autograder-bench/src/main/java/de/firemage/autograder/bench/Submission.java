@@ -0,0 +1,62 @@
+package de.firemage.autograder.bench;
+
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * One of the submissions in the {@code test_submissions} directory, compiled and with the model built.
+ * <p>
+ * The directory is resolved relative to the working directory, it can be changed with the system
+ * property {@value #SUBMISSIONS_PROPERTY}.
+ */
+@State(Scope.Benchmark)
+public class Submission {
+    static final String SUBMISSIONS_PROPERTY = "autograder.bench.submissions";
+
+    @Param({"A1", "Bank"})
+    private String submission;
+
+    private AbstractTempLocation tempLocation;
+    private UploadedFile file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, LinterException {
+        Path path = Path.of(System.getProperty(SUBMISSIONS_PROPERTY, "test_submissions"), this.submission, "code");
+        if (!Files.isDirectory(path)) {
+            throw new IllegalStateException("The submission %s does not exist, set -D%s to the test_submissions directory"
+                .formatted(path.toAbsolutePath(), SUBMISSIONS_PROPERTY));
+        }
+
+        this.tempLocation = TempLocation.random();
+        this.file = UploadedFile.build(path, JavaVersion.JAVA_17, this.tempLocation, status -> {
+        }, null);
+        if (this.file == null) {
+            throw new IllegalStateException("The submission %s does not contain any code".formatted(path));
+        }
+
+        this.file.getModel().ensureModelBuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.file.close();
+        this.tempLocation.close();
+    }
+
+    public UploadedFile getFile() {
+        return this.file;
+    }
+}
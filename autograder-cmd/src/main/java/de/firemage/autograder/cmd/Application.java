@@ -1,11 +1,15 @@
 package de.firemage.autograder.cmd;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.firemage.autograder.api.CheckConfiguration;
 import de.firemage.autograder.api.AbstractCodePosition;
 import de.firemage.autograder.api.JavaVersion;
 import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.LintReport;
+import de.firemage.autograder.api.LintResult;
 import de.firemage.autograder.api.LinterConfigurationException;
 import de.firemage.autograder.api.LinterException;
 import de.firemage.autograder.api.AbstractProblem;
@@ -32,27 +36,35 @@ import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Command(mixinStandardHelpOptions = true, version = "codelinter-cmd 1.0",
         description = "Static code analysis for student java code")
 public class Application implements Callable<Integer> {
-    private static final int IO_EXIT_CODE = 3;
-    private static final int MISC_EXIT_CODE = 10;
+    static final int IO_EXIT_CODE = 3;
+    static final int MISC_EXIT_CODE = 10;
 
-    @Parameters(index = "0", description = "The check configuration.")
+    // NOTE: the parameters are optional, because otherwise picocli would require them for subcommands as well
+    @Parameters(index = "0", arity = "0..1", description = "The check configuration.")
     private String checkConfig;
 
-    @Parameters(index = "1", description = "The root folder which contains the files to check.")
+    @Parameters(index = "1", arity = "0..1", description = "The root folder which contains the files to check.")
     private Path file;
 
     @Option(names = {"-j", "--java", "--java-version"}, defaultValue = "17", description = "Set the Java version.")
@@ -62,6 +74,10 @@ public class Application implements Callable<Integer> {
             "--output-json"}, description = "Output the found problems in JSON format instead of more readable plain text")
     private boolean outputJson;
 
+    @Option(names = {
+            "--output-ndjson"}, description = "Output each problem as a JSON object on its own line as soon as the check that found it has completed")
+    private boolean outputNdjson;
+
     // TODO: remove this
     @Option(names = {
             "--static-only"}, description = "Only kept here so the grading tool keeps working, does nothing.")
@@ -80,13 +96,48 @@ public class Application implements Callable<Integer> {
     @Option(names = {"--debug"}, description = "Enables debug mode, note that this slows down execution", defaultValue = "false")
     private boolean isInDebugMode;
 
+    @Option(names = {"--model-cache"}, description = "A directory in which the code models are cached, so checking the same code again is faster")
+    private Path modelCacheDirectory;
+
+    @Option(names = {"--linter-cache"}, description = "A directory in which the results of PMD are cached per file, so only changed files are analyzed again")
+    private Path linterCacheDirectory;
+
+    @Option(names = {"--profile"}, description = "Measure how long the individual phases and checks take and print a report", defaultValue = "false")
+    private boolean isProfiling;
+
     @Spec
     private CommandSpec spec;
 
+    private LintReport report;
+
     private final AbstractTempLocation tempLocation;
+    private final Path workingDirectory;
+    private final Function<AbstractLinter.Builder, AbstractLinter> linterFactory;
+    private final boolean isServed;
 
     public Application(AbstractTempLocation tempLocation) {
+        this(tempLocation, Path.of(""), AutograderLoader::instantiateLinter, false);
+    }
+
+    /**
+     * Creates the application with a custom way to create the linter.
+     *
+     * @param tempLocation the location in which the temporary files are stored
+     * @param workingDirectory the directory against which relative paths in the arguments are resolved
+     * @param linterFactory creates the linter from the builder, it can return an already existing linter
+     * @param isServed whether the application is executed by the serve command, which rejects options that
+     *                 would affect later requests
+     */
+    Application(
+            AbstractTempLocation tempLocation,
+            Path workingDirectory,
+            Function<AbstractLinter.Builder, AbstractLinter> linterFactory,
+            boolean isServed
+    ) {
         this.tempLocation = tempLocation;
+        this.workingDirectory = workingDirectory;
+        this.linterFactory = linterFactory;
+        this.isServed = isServed;
     }
 
     private static Charset getConsoleCharset() {
@@ -103,7 +154,12 @@ public class Application implements Callable<Integer> {
     public static int runApplication(String... args) {
         // to automatically delete the temp location on exit
         try (var tempLocation = AutograderLoader.instantiateTempLocation(Path.of(".autograder-tmp"))) {
-            return new CommandLine(new Application(tempLocation)).execute(args);
+            return new CommandLine(new Application(tempLocation))
+                    .addSubcommand("batch", new BatchCommand(tempLocation))
+                    .addSubcommand("clones", new ClonesCommand(tempLocation))
+                    .addSubcommand("serve", new ServeCommand(tempLocation))
+                    .addSubcommand("client", new ClientCommand())
+                    .execute(args);
         } catch (IOException exception) {
             throw new IllegalArgumentException("Could not create temp location", exception);
         }
@@ -120,15 +176,51 @@ public class Application implements Callable<Integer> {
         );
     }
 
+    static Path findSourceRoot(Path file) {
+        // Depending on the structure of the project, the code might be in a subdirectory.
+        // By default, we support explicitly specifying the folder to the first package (./src/main/java)
+        //
+        // Here we check if the project has a folder `src/<here the first package>` or `assignment/src/<here the first package>`
+        // and if so, we assume that the code is in that folder.
+        Path result = file;
+        if (Files.exists(result.resolve("src"))) {
+            result = result.resolve("src");
+        }
+
+        if (Files.exists(result.resolve("assignment/src"))) {
+            result = result.resolve("assignment/src");
+        }
+
+        return result;
+    }
+
+    static CheckConfiguration loadCheckConfiguration(String checkConfig, boolean passConfig) throws IOException, LinterConfigurationException {
+        if (passConfig) {
+            return CheckConfiguration.fromConfigString(checkConfig);
+        } else {
+            return CheckConfiguration.fromConfigFile(Path.of(checkConfig));
+        }
+    }
+
     private void execute(
             AbstractLinter linter,
             CheckConfiguration checkConfiguration,
             Consumer<Translatable> statusConsumer
     ) throws LinterException, IOException {
+        if (outputNdjson) {
+            this.streamProblemsAsNdjson(linter, checkConfiguration, statusConsumer);
+            return;
+        }
+
         if (outputJson) {
-            var problems = linter.checkFile(this.file, JavaVersion.fromString(this.javaVersion), checkConfiguration, statusConsumer);
+            var problems = this.checkFile(linter, checkConfiguration, statusConsumer);
             System.out.println(">> Problems <<");
             printProblemsAsJson(problems, linter);
+
+            if (this.report != null) {
+                System.out.println(">> Report <<");
+                printAsJson(this.report);
+            }
             return;
         }
 
@@ -136,95 +228,185 @@ public class Application implements Callable<Integer> {
             CmdUtil.beginSection("Checks");
             ProgressAnimation progress = new ProgressAnimation("Checking...");
             progress.start();
-            var problems = linter.checkFile(this.file, JavaVersion.fromString(this.javaVersion), checkConfiguration, statusConsumer);
+            var problems = this.checkFile(linter, checkConfiguration, statusConsumer);
             progress.finish("Completed checks");
 
             if (problems.isEmpty()) {
                 CmdUtil.println("No problems found - good job!");
             } else {
                 CmdUtil.println("Found " + problems.size() + " problem(s):");
-                problems.stream()
-                        .map(problem -> {
-                            AbstractCodePosition position = problem.getPosition();
-                            Text sourceText = Text.fromString(0, position.readSourceFile());
-                            Formatter formatter = new Formatter(
-                                    System.lineSeparator(),
-                                    highlightFromCodePosition(position, linter.translateMessage(problem.getExplanation()))
-                            );
-
-                            String result = "[%s]: %s - Found problem in '%s'%n".formatted(
-                                    problem.getType(),
-                                    problem.getCheckName(),
-                                    position.toString()
-                            );
-                            result += formatter.render(sourceText);
-
-                            return result;
-                        })
-                        .forEach(string -> CmdUtil.println(string + System.lineSeparator()));
+                // the problems of a file are rendered together, so each file is only traversed once
+                Map<Path, List<AbstractProblem>> problemsByFile = problems.stream()
+                        .collect(Collectors.groupingBy(
+                                problem -> problem.getPosition().path(),
+                                LinkedHashMap::new,
+                                Collectors.toList()
+                        ));
+
+                for (List<AbstractProblem> fileProblems : problemsByFile.values()) {
+                    StringBuilder result = new StringBuilder();
+                    List<Highlight> highlights = new ArrayList<>();
+                    for (AbstractProblem problem : fileProblems) {
+                        result.append("[%s]: %s - Found problem in '%s'%n".formatted(
+                                problem.getType(),
+                                problem.getCheckName(),
+                                problem.getPosition().toString()
+                        ));
+                        highlights.add(highlightFromCodePosition(
+                                problem.getPosition(),
+                                linter.translateMessage(problem.getExplanation())
+                        ));
+                    }
+
+                    Text sourceText = Text.fromString(0, fileProblems.get(0).getPosition().readSourceFile());
+                    Formatter formatter = new Formatter(System.lineSeparator(), highlights, 1);
+                    result.append(formatter.render(sourceText));
+
+                    CmdUtil.println(result + System.lineSeparator());
+                }
             }
 
             CmdUtil.endSection();
+            this.printReport();
             return;
         }
 
         CmdUtil.beginSection("Checks");
         ProgressAnimation progress = new ProgressAnimation("Checking...");
         progress.start();
-        var problems = linter.checkFile(this.file, JavaVersion.fromString(this.javaVersion), checkConfiguration, statusConsumer);
+        var problems = this.checkFile(linter, checkConfiguration, statusConsumer);
         progress.finish("Completed checks");
 
         printProblems(problems, linter);
 
         CmdUtil.endSection();
+        this.printReport();
+    }
+
+    private List<? extends AbstractProblem> checkFile(
+            AbstractLinter linter,
+            CheckConfiguration checkConfiguration,
+            Consumer<Translatable> statusConsumer
+    ) throws LinterException, IOException {
+        JavaVersion version = JavaVersion.fromString(this.javaVersion);
+        if (!this.isProfiling) {
+            return linter.checkFile(this.file, version, checkConfiguration, statusConsumer);
+        }
+
+        LintResult<? extends AbstractProblem> result = linter.checkFileWithReport(this.file, version, checkConfiguration, statusConsumer);
+        this.report = result.report();
+        return result.problems();
+    }
+
+    private void streamProblemsAsNdjson(
+            AbstractLinter linter,
+            CheckConfiguration checkConfiguration,
+            Consumer<Translatable> statusConsumer
+    ) throws LinterException, IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        // the generator must not close System.out when it is closed
+        mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(System.out)) {
+            // the problems are separated by the line breaks written below
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+            linter.checkFile(this.file, JavaVersion.fromString(this.javaVersion), checkConfiguration, statusConsumer, problem -> {
+                try {
+                    generator.writeObject(toAnnotations(List.of(problem), linter).get(0));
+                    generator.writeRaw(System.lineSeparator());
+                    generator.flush();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    private void printReport() {
+        if (this.report == null) {
+            return;
+        }
+
+        CmdUtil.beginSection("Profile");
+        CmdUtil.println("%10s %10s %12s  %-40s %s".formatted("wall (ms)", "cpu (ms)", "alloc (MiB)", "phase", "thread"));
+        this.report.measurements()
+                .stream()
+                .sorted(Comparator.comparingLong(LintReport.Measurement::wallTimeNanos).reversed())
+                .map(measurement -> "%10d %10s %12s  %-40s %s".formatted(
+                        measurement.wallTimeNanos() / 1_000_000,
+                        measurement.cpuTimeNanos() < 0 ? "?" : String.valueOf(measurement.cpuTimeNanos() / 1_000_000),
+                        measurement.allocatedBytes() < 0 ? "?" : String.valueOf(measurement.allocatedBytes() / (1024 * 1024)),
+                        measurement.phase(),
+                        measurement.thread()
+                ))
+                .forEach(CmdUtil::println);
+        CmdUtil.endSection();
     }
 
     @Override
     public Integer call() {
+        if (this.checkConfig == null || this.file == null) {
+            throw new ParameterException(this.spec.commandLine(), "Missing required parameters: '<checkConfig>', '<file>'");
+        }
+
         if (!JavaVersion.isValidJavaVersion(javaVersion)) {
             throw new ParameterException(this.spec.commandLine(), "Unknown java version '" + javaVersion + "'");
         }
 
-        // Depending on the structure of the project, the code might be in a subdirectory.
-        // By default, we support explicitly specifying the folder to the first package (./src/main/java)
-        //
-        // Here we check if the project has a folder `src/<here the first package>` or `assignment/src/<here the first package>`
-        // and if so, we assume that the code is in that folder.
-        if (Files.exists(this.file.resolve("src"))) {
-            this.file = this.file.resolve("src");
+        if (this.outputJson && this.outputNdjson) {
+            throw new ParameterException(this.spec.commandLine(), "'--output-json' and '--output-ndjson' can not be used together");
+        }
+
+        if (this.isProfiling && this.outputNdjson) {
+            // the streamed output has no place for the report of the profiler
+            throw new ParameterException(this.spec.commandLine(), "'--profile' and '--output-ndjson' can not be used together");
+        }
+
+        if (this.isInDebugMode && this.isServed) {
+            // the debug mode can not be disabled again, so it would stay enabled for all later requests
+            throw new ParameterException(this.spec.commandLine(), "'--debug' is not supported by the server, set AUTOGRADER_DEBUG=1 when starting the server instead");
         }
 
-        if (Files.exists(this.file.resolve("assignment/src"))) {
-            this.file = this.file.resolve("assignment/src");
+        this.file = findSourceRoot(this.workingDirectory.resolve(this.file));
+        if (this.modelCacheDirectory != null) {
+            this.modelCacheDirectory = this.workingDirectory.resolve(this.modelCacheDirectory);
+        }
+
+        if (this.linterCacheDirectory != null) {
+            this.linterCacheDirectory = this.workingDirectory.resolve(this.linterCacheDirectory);
         }
 
         if (this.isInDebugMode) {
             CoreUtil.setDebugMode();
         }
 
-        if (!outputJson) {
+        if (!outputJson && !outputNdjson) {
             System.out.println("Student source code directory is " + file);
         }
 
         // Create the check configuration
         CheckConfiguration checkConfiguration;
         try {
-            if (passConfig) {
-                checkConfiguration = CheckConfiguration.fromConfigString(checkConfig);
-            } else {
-                checkConfiguration = CheckConfiguration.fromConfigFile(Path.of(checkConfig));
-            }
+            String config = this.passConfig ? this.checkConfig : this.workingDirectory.resolve(this.checkConfig).toString();
+            checkConfiguration = loadCheckConfiguration(config, this.passConfig);
         } catch (IOException | LinterConfigurationException e) {
             e.printStackTrace();
             return IO_EXIT_CODE;
         }
 
-        AbstractLinter linter = AutograderLoader.instantiateLinter(AbstractLinter.builder(Locale.GERMANY)
-                .threads(0)
+        AbstractLinter linter = this.linterFactory.apply(AbstractLinter.builder(Locale.GERMANY)
+                // the model is only verified after each check, if the checks run one after another
+                .threads(this.isInDebugMode ? 1 : 0)
                 .tempLocation(this.tempLocation)
-                .maxProblemsPerCheck(this.maxProblemsPerCheck));
+                .maxProblemsPerCheck(this.maxProblemsPerCheck)
+                .modelCacheDirectory(this.modelCacheDirectory)
+                .linterCacheDirectory(this.linterCacheDirectory));
 
-        Consumer<Translatable> statusConsumer = status ->
+        // every line of the ndjson output must be a problem
+        Consumer<Translatable> statusConsumer = this.outputNdjson ? status -> {} : status ->
                 System.out.println(linter.translateMessage(status));
 
         if (!Files.exists(file)) {
@@ -245,35 +427,43 @@ public class Application implements Callable<Integer> {
         return 0;
     }
 
-    private void printProblems(List<? extends AbstractProblem> problems, AbstractLinter linter) {
+    static void printProblems(List<? extends AbstractProblem> problems, AbstractLinter linter) {
         if (problems.isEmpty()) {
             CmdUtil.println("No problems found - good job!");
         } else {
             CmdUtil.println("Found " + problems.size() + " problem(s):");
-            problems.stream().map(p -> this.formatProblem(p, linter)).sorted().forEach(CmdUtil::println);
+            problems.stream().map(p -> formatProblem(p, linter)).sorted().forEach(CmdUtil::println);
         }
     }
 
-    private void printProblemsAsJson(Collection<? extends AbstractProblem> problems, AbstractLinter linter) {
+    private static void printProblemsAsJson(Collection<? extends AbstractProblem> problems, AbstractLinter linter) {
+        printAsJson(toAnnotations(problems, linter));
+    }
+
+    private static void printAsJson(Object value) {
         try {
             ObjectMapper mapper = new ObjectMapper();
-            String jsonOutput = mapper.writeValueAsString(problems.stream().map(problem -> {
-                AbstractCodePosition position = problem.getPosition();
-                return new Annotation(
-                        problem.getType(),
-                        linter.translateMessage(problem.getExplanation()),
-                        position.path().toString().replace("\\", "/"),
-                        position.startLine(),
-                        position.endLine()
-                );
-            }).toList());
+            String jsonOutput = mapper.writeValueAsString(value);
             System.out.println(jsonOutput);
         } catch (JsonProcessingException ex) {
             ex.printStackTrace();
         }
     }
 
-    private String formatProblem(AbstractProblem problem, AbstractLinter linter) {
+    static List<Annotation> toAnnotations(Collection<? extends AbstractProblem> problems, AbstractLinter linter) {
+        return problems.stream().map(problem -> {
+            AbstractCodePosition position = problem.getPosition();
+            return new Annotation(
+                    problem.getType(),
+                    linter.translateMessage(problem.getExplanation()),
+                    position.path().toString().replace("\\", "/"),
+                    position.startLine(),
+                    position.endLine()
+            );
+        }).toList();
+    }
+
+    private static String formatProblem(AbstractProblem problem, AbstractLinter linter) {
         return String.format("%s %s (Source: %s)",
                 problem.getDisplayLocation(),
                 linter.translateMessage(problem.getExplanation()),
@@ -0,0 +1,180 @@
+package de.firemage.autograder.cmd;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.AbstractProblem;
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.CheckConfiguration;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterConfigurationException;
+import de.firemage.autograder.api.SubmissionResult;
+import de.firemage.autograder.api.Translatable;
+import de.firemage.autograder.api.loader.AutograderLoader;
+import de.firemage.autograder.cmd.output.SubmissionAnnotations;
+import de.firemage.autograder.core.integrated.CoreUtil;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Command(name = "batch", mixinStandardHelpOptions = true,
+        description = "Checks every submission in a folder, reusing the same linter for all of them")
+public class BatchCommand implements Callable<Integer> {
+    @Parameters(index = "0", description = "The check configuration.")
+    private String checkConfig;
+
+    @Parameters(index = "1", description = "The folder which contains one folder per submission.")
+    private Path submissions;
+
+    @Option(names = {"-j", "--java", "--java-version"}, defaultValue = "17", description = "Set the Java version.")
+    private String javaVersion;
+
+    @Option(names = {
+            "--output-json"}, description = "Output the found problems in JSON format instead of more readable plain text")
+    private boolean outputJson;
+
+    @Option(names = {
+            "--pass-config"}, description = "Interpret the first parameter not as the path to a config file, but as the contents of the config file")
+    private boolean passConfig;
+
+    @Option(names = {"--max-problems"}, description = "The maximum number of problems to report per check", defaultValue = "10")
+    private int maxProblemsPerCheck;
+
+    @Option(names = {"--debug"}, description = "Enables debug mode, note that this slows down execution", defaultValue = "false")
+    private boolean isInDebugMode;
+
+    @Option(names = {"--model-cache"}, description = "A directory in which the code models are cached, so checking the same code again is faster")
+    private Path modelCacheDirectory;
+
+    @Option(names = {"--linter-cache"}, description = "A directory in which the results of PMD are cached per file, so only changed files are analyzed again")
+    private Path linterCacheDirectory;
+
+    @Spec
+    private CommandSpec spec;
+
+    private final AbstractTempLocation tempLocation;
+
+    public BatchCommand(AbstractTempLocation tempLocation) {
+        this.tempLocation = tempLocation;
+    }
+
+    @Override
+    public Integer call() {
+        if (!JavaVersion.isValidJavaVersion(this.javaVersion)) {
+            throw new ParameterException(this.spec.commandLine(), "Unknown java version '" + this.javaVersion + "'");
+        }
+
+        if (!Files.isDirectory(this.submissions)) {
+            CmdUtil.printlnErr("The path '%s' is not a directory".formatted(this.submissions));
+            return Application.IO_EXIT_CODE;
+        }
+
+        if (this.isInDebugMode) {
+            CoreUtil.setDebugMode();
+        }
+
+        CheckConfiguration checkConfiguration;
+        List<Path> submissionFolders;
+        try {
+            checkConfiguration = Application.loadCheckConfiguration(this.checkConfig, this.passConfig);
+            submissionFolders = this.findSubmissionFolders();
+        } catch (IOException | LinterConfigurationException e) {
+            e.printStackTrace();
+            return Application.IO_EXIT_CODE;
+        }
+
+        AbstractLinter linter = AutograderLoader.instantiateLinter(AbstractLinter.builder(Locale.GERMANY)
+                // the model is only verified after each check, if the checks run one after another
+                .threads(this.isInDebugMode ? 1 : 0)
+                .tempLocation(this.tempLocation)
+                .maxProblemsPerCheck(this.maxProblemsPerCheck)
+                .modelCacheDirectory(this.modelCacheDirectory)
+                .linterCacheDirectory(this.linterCacheDirectory)
+                // the resources are needed for every submission anyway
+                .preloadResources(true));
+
+        Consumer<Translatable> statusConsumer = this.outputJson
+                ? status -> {}
+                : status -> System.out.println(linter.translateMessage(status));
+
+        List<? extends SubmissionResult<? extends AbstractProblem>> results = linter.checkFiles(
+                submissionFolders.stream().map(Application::findSourceRoot).toList(),
+                JavaVersion.fromString(this.javaVersion),
+                checkConfiguration,
+                statusConsumer
+        );
+
+        if (this.outputJson) {
+            this.printResultsAsJson(submissionFolders, results, linter);
+        } else {
+            this.printResults(submissionFolders, results, linter);
+        }
+
+        return results.stream().allMatch(SubmissionResult::isSuccessful) ? 0 : Application.MISC_EXIT_CODE;
+    }
+
+    private List<Path> findSubmissionFolders() throws IOException {
+        try (Stream<Path> paths = Files.list(this.submissions)) {
+            return paths.filter(Files::isDirectory)
+                    .sorted(Comparator.comparing(Path::getFileName))
+                    .toList();
+        }
+    }
+
+    private void printResults(
+            List<Path> submissionFolders,
+            List<? extends SubmissionResult<? extends AbstractProblem>> results,
+            AbstractLinter linter
+    ) {
+        for (int i = 0; i < results.size(); i++) {
+            SubmissionResult<? extends AbstractProblem> result = results.get(i);
+
+            CmdUtil.beginSection(submissionFolders.get(i).getFileName().toString());
+            if (result.isSuccessful()) {
+                Application.printProblems(result.problems(), linter);
+            } else {
+                CmdUtil.printlnErr("Failed to check the submission: " + result.failure().getMessage());
+            }
+            CmdUtil.endSection();
+        }
+    }
+
+    private void printResultsAsJson(
+            List<Path> submissionFolders,
+            List<? extends SubmissionResult<? extends AbstractProblem>> results,
+            AbstractLinter linter
+    ) {
+        List<SubmissionAnnotations> output = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            SubmissionResult<? extends AbstractProblem> result = results.get(i);
+            String name = submissionFolders.get(i).getFileName().toString();
+
+            if (result.isSuccessful()) {
+                output.add(new SubmissionAnnotations(name, Application.toAnnotations(result.problems(), linter), null));
+            } else {
+                output.add(new SubmissionAnnotations(name, List.of(), String.valueOf(result.failure().getMessage())));
+            }
+        }
+
+        try {
+            System.out.println(">> Problems <<");
+            System.out.println(new ObjectMapper().writeValueAsString(output));
+        } catch (JsonProcessingException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
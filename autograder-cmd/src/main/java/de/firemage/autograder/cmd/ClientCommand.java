@@ -0,0 +1,77 @@
+package de.firemage.autograder.cmd;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Unmatched;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@Command(name = "client",
+        description = "Checks a submission with a running serve command, accepts the same parameters as the application")
+public class ClientCommand implements Callable<Integer> {
+    @Mixin
+    private ServeAddress address;
+
+    @Unmatched
+    private List<String> arguments = new ArrayList<>();
+
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public ClientCommand() {
+        this(System.out, System.err);
+    }
+
+    /**
+     * Creates a client that writes the output of the server to the given streams.
+     *
+     * @param out the stream to which the stdout of the request is written
+     * @param err the stream to which the stderr of the request is written
+     */
+    ClientCommand(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public Integer call() {
+        try (SocketChannel connection = this.address.connect()) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(connection)));
+            // the server can not know whether the terminal of the client supports colors
+            boolean isAnsiEnabled = CommandLine.Help.Ansi.AUTO.enabled();
+            new ServeProtocol.Request(Path.of("").toAbsolutePath(), isAnsiEnabled, this.arguments).write(output);
+
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(connection)));
+            while (true) {
+                byte frameType = input.readByte();
+                if (frameType == ServeProtocol.EXIT_FRAME) {
+                    return input.readInt();
+                }
+
+                byte[] content = input.readNBytes(input.readInt());
+                PrintStream target = frameType == ServeProtocol.STDERR_FRAME ? this.err : this.out;
+                target.write(content);
+                target.flush();
+            }
+        } catch (EOFException e) {
+            this.err.println("The server closed the connection before the request was completed");
+            return Application.IO_EXIT_CODE;
+        } catch (IOException e) {
+            this.err.println("Failed to communicate with the server: " + e.getMessage());
+            return Application.IO_EXIT_CODE;
+        }
+    }
+}
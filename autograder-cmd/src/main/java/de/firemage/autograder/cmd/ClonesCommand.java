@@ -0,0 +1,180 @@
+package de.firemage.autograder.cmd;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.core.compiler.CompilationFailureException;
+import de.firemage.autograder.core.file.FileSourceInfo;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.integrated.CloneIndex;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+@Command(name = "clones", mixinStandardHelpOptions = true,
+        description = "Finds code blocks that are shared between the submissions in a folder")
+public class ClonesCommand implements Callable<Integer> {
+    @Parameters(index = "0", description = "The folder which contains one folder per submission.")
+    private Path submissions;
+
+    @Option(names = {"-j", "--java", "--java-version"}, defaultValue = "17", description = "Set the Java version.")
+    private String javaVersion;
+
+    @Option(names = {"--index"}, description = "A file in which the index is stored, so only new or changed submissions have to be indexed again")
+    private Path indexFile;
+
+    @Option(names = {"--min-statements"}, defaultValue = "" + CloneIndex.DEFAULT_MINIMUM_SIZE, description = "The minimum number of statements in a shared block")
+    private int minimumStatements;
+
+    @Option(names = {"--min-submissions"}, defaultValue = "2", description = "The minimum number of submissions that must share a block")
+    private int minimumSubmissions;
+
+    @Option(names = {"--max-submissions"}, defaultValue = "0", description = "Ignore blocks that are shared by more submissions (e.g. code from the assignment), 0 means no limit")
+    private int maximumSubmissions;
+
+    @Option(names = {
+            "--output-json"}, description = "Output the shared blocks in JSON format instead of more readable plain text")
+    private boolean outputJson;
+
+    @Spec
+    private CommandSpec spec;
+
+    private final AbstractTempLocation tempLocation;
+
+    public ClonesCommand(AbstractTempLocation tempLocation) {
+        this.tempLocation = tempLocation;
+    }
+
+    @Override
+    public Integer call() {
+        if (!JavaVersion.isValidJavaVersion(this.javaVersion)) {
+            throw new ParameterException(this.spec.commandLine(), "Unknown java version '" + this.javaVersion + "'");
+        }
+
+        if (this.minimumSubmissions < 2) {
+            throw new ParameterException(this.spec.commandLine(), "A block must be shared by at least 2 submissions");
+        }
+
+        if (!Files.isDirectory(this.submissions)) {
+            CmdUtil.printlnErr("The path '%s' is not a directory".formatted(this.submissions));
+            return Application.IO_EXIT_CODE;
+        }
+
+        JavaVersion version = JavaVersion.fromString(this.javaVersion);
+        CloneIndex index = this.indexFile == null
+                ? new CloneIndex(this.minimumStatements)
+                : CloneIndex.load(this.indexFile, this.minimumStatements);
+
+        boolean isSuccessful = true;
+        try {
+            Set<String> names = new HashSet<>();
+            for (Path folder : this.findSubmissionFolders()) {
+                String name = folder.getFileName().toString();
+                names.add(name);
+                isSuccessful &= this.indexSubmission(index, name, new FileSourceInfo(Application.findSourceRoot(folder), version));
+            }
+
+            // submissions that have been deleted since the index was saved
+            for (String name : List.copyOf(index.submissions())) {
+                if (!names.contains(name)) {
+                    index.remove(name);
+                }
+            }
+
+            if (this.indexFile != null) {
+                index.save(this.indexFile);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Application.IO_EXIT_CODE;
+        }
+
+        int maximum = this.maximumSubmissions <= 0 ? Integer.MAX_VALUE : this.maximumSubmissions;
+        List<CloneIndex.SharedBlock> blocks = index.findSharedBlocks(this.minimumSubmissions, maximum);
+        if (this.outputJson) {
+            this.printBlocksAsJson(blocks);
+        } else {
+            this.printBlocks(blocks);
+        }
+
+        return isSuccessful ? 0 : Application.MISC_EXIT_CODE;
+    }
+
+    private boolean indexSubmission(CloneIndex index, String name, SourceInfo source) throws IOException {
+        if (index.isUpToDate(name, source)) {
+            return true;
+        }
+
+        if (!this.outputJson) {
+            CmdUtil.println("Indexing " + name);
+        }
+
+        try (UploadedFile file = UploadedFile.build(source, this.tempLocation, status -> {}, null)) {
+            if (file == null) {
+                CmdUtil.printlnErr("The submission '%s' does not compile".formatted(name));
+                index.remove(name);
+                return false;
+            }
+
+            index.add(name, source, file.getModel().getModel());
+            return true;
+        } catch (CompilationFailureException | RuntimeException e) {
+            // the submission is not part of the result, but the other submissions can still be checked
+            CmdUtil.printlnErr("Failed to index the submission '%s': %s".formatted(name, e.getMessage()));
+            index.remove(name);
+            return false;
+        }
+    }
+
+    private List<Path> findSubmissionFolders() throws IOException {
+        try (Stream<Path> paths = Files.list(this.submissions)) {
+            return paths.filter(Files::isDirectory)
+                    .sorted(Comparator.comparing(Path::getFileName))
+                    .toList();
+        }
+    }
+
+    private void printBlocks(List<CloneIndex.SharedBlock> blocks) {
+        CmdUtil.beginSection("Shared Blocks");
+        if (blocks.isEmpty()) {
+            CmdUtil.println("No shared blocks found");
+        }
+
+        for (CloneIndex.SharedBlock block : blocks) {
+            CmdUtil.println("@|bold,yellow %d statements shared by %d submissions|@".formatted(block.size(), block.submissions().size()));
+            for (CloneIndex.Occurrence occurrence : block.occurrences()) {
+                CmdUtil.println("    %s: %s:L%d-%d".formatted(
+                        occurrence.submission(),
+                        occurrence.file(),
+                        occurrence.startLine(),
+                        occurrence.endLine()
+                ));
+            }
+        }
+        CmdUtil.endSection();
+    }
+
+    private void printBlocksAsJson(List<CloneIndex.SharedBlock> blocks) {
+        try {
+            System.out.println(">> Clones <<");
+            System.out.println(new ObjectMapper().writeValueAsString(blocks));
+        } catch (JsonProcessingException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
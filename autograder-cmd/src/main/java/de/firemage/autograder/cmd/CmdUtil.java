@@ -6,16 +6,33 @@ public final class CmdUtil {
     private static final int CAPTION_SEPARATOR_LENGTH = 100;
     private static final String CAPTION_PADDING = "=";
 
+    private static CommandLine.Help.Ansi ansi = CommandLine.Help.Ansi.AUTO;
+
     private CmdUtil() {
 
     }
 
+    /**
+     * Sets whether the output is colored.
+     * <p>
+     * By default, this depends on the terminal of this process, which is not the terminal of the client when
+     * the output is sent to it by the serve command.
+     *
+     * @param newAnsi whether the output is colored
+     * @return the previous value, so it can be restored
+     */
+    static CommandLine.Help.Ansi setAnsi(CommandLine.Help.Ansi newAnsi) {
+        CommandLine.Help.Ansi previous = ansi;
+        ansi = newAnsi;
+        return previous;
+    }
+
     public static void print(String output) {
-        System.out.print(CommandLine.Help.Ansi.AUTO.string(output));
+        System.out.print(ansi.string(output));
     }
 
     public static void println(String output) {
-        System.out.println(CommandLine.Help.Ansi.AUTO.string(output));
+        System.out.println(ansi.string(output));
     }
 
     public static void println() {
@@ -23,11 +40,11 @@ public final class CmdUtil {
     }
 
     public static void printErr(String output) {
-        System.err.print(CommandLine.Help.Ansi.AUTO.string(output));
+        System.err.print(ansi.string(output));
     }
 
     public static void printlnErr(String output) {
-        System.err.println(CommandLine.Help.Ansi.AUTO.string(output));
+        System.err.println(ansi.string(output));
     }
 
     public static void printlnErr() {
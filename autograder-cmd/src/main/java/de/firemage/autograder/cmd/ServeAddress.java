@@ -0,0 +1,109 @@
+package de.firemage.autograder.cmd;
+
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
+import picocli.CommandLine.Spec;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+
+/**
+ * The address on which the {@code serve} command listens and to which the {@code client} command connects.
+ * <p>
+ * Either a unix domain socket or a port on the loopback interface is used, the server is never reachable
+ * from other machines. The server reads every file that it is asked to check with its own permissions, so only
+ * the user that started it must be able to connect: the unix domain socket can only be accessed by its owner,
+ * while a port is reachable by every user of the machine and should only be used on single-user machines.
+ */
+public class ServeAddress {
+    @Option(names = {"--socket"}, description = "The path of the unix domain socket")
+    private Path socket;
+
+    @Option(names = {"--port"}, description = "The port on the loopback interface, 0 lets the server pick a free port. Every local user can connect to it, so only use it on single-user machines")
+    private Integer port;
+
+    @Spec(Spec.Target.MIXEE)
+    private CommandSpec spec;
+
+    private SocketAddress toSocketAddress() {
+        if ((this.socket == null) == (this.port == null)) {
+            throw new ParameterException(this.spec.commandLine(), "Exactly one of '--socket' and '--port' must be specified");
+        }
+
+        if (this.socket != null) {
+            return UnixDomainSocketAddress.of(this.socket);
+        }
+
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), this.port);
+    }
+
+    ServerSocketChannel bind() throws IOException {
+        SocketAddress address = this.toSocketAddress();
+        if (this.socket == null) {
+            return ServerSocketChannel.open().bind(address);
+        }
+
+        // a socket file that is left over from a server that has not been shut down properly prevents binding
+        Files.deleteIfExists(this.socket);
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(address);
+            this.socket.toFile().deleteOnExit();
+            return server;
+        }
+
+        // The socket file is created with the default permissions, so other users could connect to it until its
+        // permissions are changed. Therefore, it is created in a directory that only the owner can access and
+        // moved to its final location once it is restricted to the owner as well.
+        Path socketFile = this.socket.toAbsolutePath();
+        Path directory = Files.createTempDirectory(
+                socketFile.getParent(),
+                ".autograder-socket",
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))
+        );
+        try {
+            Path privateSocket = directory.resolve("socket");
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(UnixDomainSocketAddress.of(privateSocket));
+            try {
+                Files.setPosixFilePermissions(privateSocket, PosixFilePermissions.fromString("rw-------"));
+                Files.move(privateSocket, socketFile, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                server.close();
+                throw e;
+            }
+
+            this.socket.toFile().deleteOnExit();
+            return server;
+        } finally {
+            Files.deleteIfExists(directory.resolve("socket"));
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Describes the address on which the given server listens.
+     *
+     * @param server the server that has been bound by {@link #bind()}
+     * @return the description for the user
+     * @throws IOException if the address of the server could not be determined
+     */
+    String describe(ServerSocketChannel server) throws IOException {
+        // the server still reports the private directory in which the socket has been bound
+        return this.socket != null ? this.socket.toString() : server.getLocalAddress().toString();
+    }
+
+    SocketChannel connect() throws IOException {
+        return SocketChannel.open(this.toSocketAddress());
+    }
+}
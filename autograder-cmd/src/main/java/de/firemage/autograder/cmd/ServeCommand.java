@@ -0,0 +1,126 @@
+package de.firemage.autograder.cmd;
+
+import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.loader.AutograderLoader;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+@Command(name = "serve", mixinStandardHelpOptions = true,
+        description = "Keeps the autograder running and checks the submissions that are requested with the client command")
+public class ServeCommand implements Callable<Integer> {
+    @Mixin
+    private ServeAddress address;
+
+    private final AbstractTempLocation tempLocation;
+    // the linters are reused for all requests with the same settings, so they are only set up once
+    private final Map<LinterSettings, AbstractLinter> linters;
+
+    public ServeCommand(AbstractTempLocation tempLocation) {
+        this.tempLocation = tempLocation;
+        this.linters = new HashMap<>();
+    }
+
+    @Override
+    public Integer call() {
+        try (ServerSocketChannel server = this.address.bind()) {
+            CmdUtil.println("Listening on " + this.address.describe(server));
+
+            while (true) {
+                try (SocketChannel connection = server.accept()) {
+                    this.handle(connection);
+                } catch (IOException e) {
+                    // the client might have disconnected, this must not stop the server
+                    CmdUtil.printlnErr("Failed to handle a request: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Application.IO_EXIT_CODE;
+        }
+    }
+
+    /**
+     * Executes a single request, like the command line application would do it.
+     * <p>
+     * The output of the application is written to {@link System#out} and {@link System#err}, which are redirected
+     * to the connection while the request is executed. Therefore, the requests are executed one after another.
+     * The checks of a submission are still executed in parallel.
+     * <p>
+     * Options that would change the state of the whole process, like {@code --debug}, are rejected, so that
+     * a request does not affect the requests after it.
+     *
+     * @param connection the connection to the client
+     * @throws IOException if the request could not be read or the output could not be sent
+     */
+    private void handle(SocketChannel connection) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(connection)));
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(connection)));
+
+        ServeProtocol.Request request = ServeProtocol.Request.read(input);
+
+        PrintStream stdout = new PrintStream(new ServeProtocol.FrameOutputStream(output, ServeProtocol.STDOUT_FRAME), true, StandardCharsets.UTF_8);
+        PrintStream stderr = new PrintStream(new ServeProtocol.FrameOutputStream(output, ServeProtocol.STDERR_FRAME), true, StandardCharsets.UTF_8);
+
+        CommandLine.Help.Ansi ansi = request.isAnsiEnabled() ? CommandLine.Help.Ansi.ON : CommandLine.Help.Ansi.OFF;
+
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        CommandLine.Help.Ansi originalAnsi = CmdUtil.setAnsi(ansi);
+        int exitCode;
+        try {
+            System.setOut(stdout);
+            System.setErr(stderr);
+
+            Application application = new Application(this.tempLocation, request.workingDirectory(), this::linterFor, true);
+            exitCode = new CommandLine(application)
+                    .setColorScheme(CommandLine.Help.defaultColorScheme(ansi))
+                    .execute(request.arguments().toArray(String[]::new));
+        } finally {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+            CmdUtil.setAnsi(originalAnsi);
+        }
+
+        stdout.flush();
+        stderr.flush();
+        if (stdout.checkError() || stderr.checkError()) {
+            throw new IOException("Could not send the output to the client");
+        }
+
+        ServeProtocol.writeExit(output, exitCode);
+    }
+
+    private AbstractLinter linterFor(AbstractLinter.Builder builder) {
+        LinterSettings settings = new LinterSettings(
+                builder.getLocale(),
+                builder.getThreads(),
+                builder.getMaxProblemsPerCheck(),
+                builder.getModelCacheDirectory(),
+                builder.getLinterCacheDirectory()
+        );
+
+        // the linter is kept for all later requests, so the resources of every check are created once up front
+        return this.linters.computeIfAbsent(settings, key -> AutograderLoader.instantiateLinter(builder.preloadResources(true)));
+    }
+
+    private record LinterSettings(Locale locale, int threads, int maxProblemsPerCheck, Path modelCacheDirectory, Path linterCacheDirectory) {
+    }
+}
@@ -0,0 +1,123 @@
+package de.firemage.autograder.cmd;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The messages exchanged between the {@code client} and the {@code serve} command.
+ * <p>
+ * The client sends a single {@link Request}. The server answers with frames that contain the output of the request
+ * on stdout or stderr and finishes with a frame that contains the exit code. Strings are encoded as UTF-8 and
+ * prefixed with their length, so that arbitrarily long arguments (e.g. a config passed with {@code --pass-config})
+ * are supported.
+ */
+final class ServeProtocol {
+    private static final int VERSION = 2;
+
+    static final byte EXIT_FRAME = 0;
+    static final byte STDOUT_FRAME = 1;
+    static final byte STDERR_FRAME = 2;
+
+    private ServeProtocol() {
+    }
+
+    /**
+     * A request to check a submission.
+     *
+     * @param workingDirectory the working directory of the client, relative paths in the arguments are resolved against it
+     * @param isAnsiEnabled whether the terminal of the client supports colored output
+     * @param arguments the arguments, like they would be passed to the command line application
+     */
+    record Request(Path workingDirectory, boolean isAnsiEnabled, List<String> arguments) {
+        void write(DataOutputStream output) throws IOException {
+            output.writeInt(VERSION);
+            writeString(output, this.workingDirectory.toString());
+            output.writeBoolean(this.isAnsiEnabled);
+            output.writeInt(this.arguments.size());
+            for (String argument : this.arguments) {
+                writeString(output, argument);
+            }
+            output.flush();
+        }
+
+        static Request read(DataInputStream input) throws IOException {
+            int version = input.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported protocol version %d, the server uses version %d".formatted(version, VERSION));
+            }
+
+            Path workingDirectory = Path.of(readString(input));
+            boolean isAnsiEnabled = input.readBoolean();
+            int count = input.readInt();
+            List<String> arguments = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                arguments.add(readString(input));
+            }
+
+            return new Request(workingDirectory, isAnsiEnabled, arguments);
+        }
+    }
+
+    static void writeExit(DataOutputStream output, int exitCode) throws IOException {
+        synchronized (output) {
+            output.writeByte(EXIT_FRAME);
+            output.writeInt(exitCode);
+            output.flush();
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes everything that is written to it as frames of the given type.
+     */
+    static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream output;
+        private final byte frameType;
+
+        FrameOutputStream(DataOutputStream output, byte frameType) {
+            this.output = output;
+            this.frameType = frameType;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return;
+            }
+
+            // stdout and stderr share the connection
+            synchronized (this.output) {
+                this.output.writeByte(this.frameType);
+                this.output.writeInt(length);
+                this.output.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (this.output) {
+                this.output.flush();
+            }
+        }
+    }
+}
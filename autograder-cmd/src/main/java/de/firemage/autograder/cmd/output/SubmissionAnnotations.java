@@ -0,0 +1,6 @@
+package de.firemage.autograder.cmd.output;
+
+import java.util.List;
+
+public record SubmissionAnnotations(String submission, List<Annotation> annotations, String error) {
+}
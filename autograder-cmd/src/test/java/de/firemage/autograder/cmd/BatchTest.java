@@ -0,0 +1,14 @@
+package de.firemage.autograder.cmd;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchTest {
+    @Test
+    void testAllSubmissions() {
+        // Only checks whether the autograder fails on any of the submissions
+        int returnCode = Application.runApplication("batch", "../sample_config.yaml", "../test_submissions", "-j", "17");
+        assertEquals(0, returnCode);
+    }
+}
@@ -0,0 +1,93 @@
+package de.firemage.autograder.cmd;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ServeTest {
+    @TempDir
+    private static Path directory;
+    private static Path socket;
+
+    @BeforeAll
+    static void startServer() throws InterruptedException {
+        socket = directory.resolve("autograder.sock");
+
+        // the server runs until the JVM exits
+        Thread server = new Thread(() -> Application.runApplication("serve", "--socket", socket.toString()));
+        server.setDaemon(true);
+        server.start();
+
+        // the socket file only appears once the server is listening
+        for (int i = 0; i < 600 && !Files.exists(socket); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(Files.exists(socket), "The server did not start");
+    }
+
+    private record Response(int exitCode, String stdout, String stderr) {
+    }
+
+    private static Response request(String... arguments) {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        ClientCommand client = new ClientCommand(
+                new PrintStream(stdout, true, StandardCharsets.UTF_8),
+                new PrintStream(stderr, true, StandardCharsets.UTF_8)
+        );
+
+        String[] clientArguments = new String[arguments.length + 2];
+        clientArguments[0] = "--socket";
+        clientArguments[1] = socket.toString();
+        System.arraycopy(arguments, 0, clientArguments, 2, arguments.length);
+
+        int exitCode = new CommandLine(client).execute(clientArguments);
+        return new Response(exitCode, stdout.toString(StandardCharsets.UTF_8), stderr.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testCheckSubmission() {
+        Response response = request("../sample_config.yaml", "../test_submissions/A1/code", "-j", "17");
+
+        assertEquals(0, response.exitCode(), response.stderr());
+        assertTrue(response.stdout().contains("Student source code directory is"), response.stdout());
+    }
+
+    @Test
+    void testErrorOutput() {
+        Response response = request("../sample_config.yaml", "../test_submissions/does-not-exist", "-j", "17");
+
+        assertEquals(Application.IO_EXIT_CODE, response.exitCode());
+        assertTrue(response.stderr().contains("does not exist"), response.stderr());
+    }
+
+    @Test
+    void testRejectsDebugMode() {
+        // the debug mode would stay enabled for all later requests
+        Response response = request("../sample_config.yaml", "../test_submissions/A1/code", "--debug");
+
+        assertEquals(CommandLine.ExitCode.USAGE, response.exitCode());
+        assertTrue(response.stderr().contains("--debug"), response.stderr());
+    }
+
+    @Test
+    void testSocketIsPrivate() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(socket));
+    }
+}
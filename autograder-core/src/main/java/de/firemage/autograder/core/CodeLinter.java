@@ -2,22 +2,34 @@ package de.firemage.autograder.core;
 
 import de.firemage.autograder.api.Translatable;
 import de.firemage.autograder.core.check.Check;
-import de.firemage.autograder.api.AbstractTempLocation;
 import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.parallel.AnalysisScheduler;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.function.Consumer;
 
 public interface CodeLinter<T extends Check> {
     Class<? super T> supportedCheckType();
 
+    /**
+     * Enables caching of the results of this linter in the given directory.
+     * <p>
+     * A linter that supports it reuses its results for code that has not changed since it was last linted.
+     * By default, nothing is cached.
+     *
+     * @param directory the directory in which the results are stored, it might be shared with other linters
+     */
+    default void enableCache(Path directory) {
+    }
+
     /**
      * Lints the given submission using the given checks.
      *
      * @param submission the submission to lint
-     * @param tempLocation in this location, temporary files can be stored by the linter
      * @param classLoader some class loader
+     * @param scheduler can be used to execute independent parts of the linting in parallel
      * @param checks the checks to use, they are guaranteed to be supported by this linter
      * @param statusConsumer a consumer that can be used to report the progress of the linting
      * @return a list of problems found in the submission
@@ -25,9 +37,38 @@ public interface CodeLinter<T extends Check> {
      */
     List<Problem> lint(
         UploadedFile submission,
-        AbstractTempLocation tempLocation,
         ClassLoader classLoader,
+        AnalysisScheduler scheduler,
         List<T> checks,
         Consumer<Translatable> statusConsumer
     ) throws IOException;
+
+    /**
+     * Lints the given submission like {@link #lint(UploadedFile, ClassLoader, AnalysisScheduler, List, Consumer)},
+     * but reports the problems of the checks as soon as they are available.
+     * <p>
+     * All problems of a check are reported at once, but the problems of multiple checks might be reported together.
+     * By default, all problems are reported after the linting has finished.
+     *
+     * @param submission the submission to lint
+     * @param classLoader some class loader
+     * @param scheduler can be used to execute independent parts of the linting in parallel
+     * @param checks the checks to use, they are guaranteed to be supported by this linter
+     * @param statusConsumer a consumer that can be used to report the progress of the linting
+     * @param problemConsumer notified with the problems of completed checks, might be called from multiple threads
+     * @return a list of all problems found in the submission
+     * @throws IOException if an I/O error occurs
+     */
+    default List<Problem> lint(
+        UploadedFile submission,
+        ClassLoader classLoader,
+        AnalysisScheduler scheduler,
+        List<T> checks,
+        Consumer<Translatable> statusConsumer,
+        Consumer<? super List<Problem>> problemConsumer
+    ) throws IOException {
+        List<Problem> problems = this.lint(submission, classLoader, scheduler, checks, statusConsumer);
+        problemConsumer.accept(problems);
+        return problems;
+    }
 }
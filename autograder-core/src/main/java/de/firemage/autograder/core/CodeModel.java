@@ -1,5 +1,6 @@
 package de.firemage.autograder.core;
 
+import de.firemage.autograder.core.compiler.CompilationResult;
 import de.firemage.autograder.core.file.SourceInfo;
 import de.firemage.autograder.core.integrated.DuplicateCodeFinder;
 import de.firemage.autograder.core.integrated.MethodHierarchy;
@@ -16,6 +17,7 @@ import spoon.reflect.code.CtCatchVariable;
 import spoon.reflect.code.CtTargetedExpression;
 import spoon.reflect.declaration.*;
 import spoon.reflect.factory.CodeFactory;
+import spoon.reflect.factory.CoreFactory;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.FactoryImpl;
 import spoon.reflect.reference.CtCatchVariableReference;
@@ -25,10 +27,6 @@ import spoon.reflect.visitor.filter.NamedElementFilter;
 import spoon.support.DefaultCoreFactory;
 import spoon.support.StandardEnvironment;
 
-import java.io.IOException;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.List;
@@ -39,36 +37,57 @@ import java.util.Optional;
  */
 public final class CodeModel implements AutoCloseable {
     private final SourceInfo file;
-    private final Path jar;
-    private final ClassLoader userClassLoader;
-    private final URLClassLoader classLoader;
+    private final ClassLoader classLoader;
+    private final ModelCache modelCache;
+    private final Profiler profiler;
     private Factory factory;
     private CtModel model;
     private CtPackage basePackage;
     private MethodHierarchy methodHierarchy;
     private Optional<CtMethod<Void>> mainMethod;
 
-    private CodeModel(SourceInfo file, Path jar, ClassLoader classLoader) {
+    private CodeModel(SourceInfo file, CompilationResult compilationResult, ClassLoader classLoader, ModelCache modelCache, Profiler profiler) {
         this.file = file;
-        this.jar = jar;
-
-        if (classLoader != null) {
-            this.userClassLoader = classLoader;
-            this.classLoader = null;
-        } else {
-            // Use a custom class loader because spoon won't close its standard URLClassLoader and will leak the handle to the jar file
-            try {
-                this.classLoader =
-                        new URLClassLoader(new URL[]{jar.toUri().toURL()}, Thread.currentThread().getContextClassLoader());
-                this.userClassLoader = null;
-            } catch (MalformedURLException e) {
-                throw new RuntimeException(e);
-            }
-        }
+        this.modelCache = modelCache;
+        this.profiler = profiler;
+
+        // The compiled classes are kept in memory, so the class loader does not hold any file handles.
+        //
+        // It must not be a URLClassLoader, because spoon would only extract the URLs and create its own
+        // class loader from them.
+        ClassLoader parent = classLoader != null ? classLoader : Thread.currentThread().getContextClassLoader();
+        this.classLoader = compilationResult.createClassLoader(parent);
+    }
+
+    public static CodeModel buildFor(SourceInfo file, CompilationResult compilationResult, ClassLoader classLoader) {
+        return CodeModel.buildFor(file, compilationResult, classLoader, null);
     }
 
-    public static CodeModel buildFor(SourceInfo file, Path jar, ClassLoader classLoader) {
-        return new CodeModel(file, jar, classLoader);
+    /**
+     * Creates a model for the given source.
+     *
+     * @param file the source code
+     * @param compilationResult the compiled source code
+     * @param classLoader the class loader for the dependencies of the source code, might be null
+     * @param modelCache a cache from which the model is restored if possible, might be null
+     * @return the model, which is built lazily
+     */
+    public static CodeModel buildFor(SourceInfo file, CompilationResult compilationResult, ClassLoader classLoader, ModelCache modelCache) {
+        return CodeModel.buildFor(file, compilationResult, classLoader, modelCache, Profiler.NONE);
+    }
+
+    /**
+     * Creates a model for the given source.
+     *
+     * @param file the source code
+     * @param compilationResult the compiled source code
+     * @param classLoader the class loader for the dependencies of the source code, might be null
+     * @param modelCache a cache from which the model is restored if possible, might be null
+     * @param profiler measures building the model and its indexes
+     * @return the model, which is built lazily
+     */
+    public static CodeModel buildFor(SourceInfo file, CompilationResult compilationResult, ClassLoader classLoader, ModelCache modelCache, Profiler profiler) {
+        return new CodeModel(file, compilationResult, classLoader, modelCache, profiler);
     }
 
     public void ensureModelBuild() {
@@ -127,13 +146,10 @@ public final class CodeModel implements AutoCloseable {
     }
 
     @Override
-    public void close() throws IOException {
-        if (this.classLoader != null) {
-            this.classLoader.close();
-        }
+    public void close() {
+        // nothing to release, the compiled classes only live in memory
     }
 
-    @SuppressWarnings({"java:S3599", "java:S1171"}) // ignore some sonarlint warnings
     private void buildModelMaybe() {
         // First check without synchronization
         if (this.model != null) {
@@ -146,87 +162,30 @@ public final class CodeModel implements AutoCloseable {
                 return;
             }
 
+            Factory factory = null;
+            if (this.modelCache != null) {
+                try (Profiler.Phase phase = this.profiler.start("model cache load")) {
+                    factory = this.modelCache.load(this.file).orElse(null);
+                }
+            }
 
-            // Fix for something similar to https://github.com/INRIA/spoon/issues/5868
-            Factory baseFactory = new FactoryImpl(new DefaultCoreFactory(), new StandardEnvironment()) {
-                private transient CodeFactory code;
-
-                @Override
-                public CodeFactory Code() {
-                    if (this.code == null) {
-                        this.code = new CodeFactory(this) {
-                            @Override
-                            public <T> CtCatchVariableReference<T> createCatchVariableReference(CtCatchVariable<T> catchVariable) {
-                                // The implementation of the original method is broken, resulting in elements which point to the
-                                // wrong or an invalid parent.
-                                //
-                                // This is a workaround until the issue is fixed in spoon.
-                                CtCatchVariableReference<T> ref = this.factory.Core().createCatchVariableReference();
-
-                                ref.setType(catchVariable.getType() == null ? null : catchVariable.getType().clone());
-                                ref.setSimpleName(catchVariable.getSimpleName());
-                                ref.setParent(catchVariable);
-
-                                return ref;
-                            }
-                        };
-                    }
-                    return this.code;
+            if (factory == null) {
+                try (Profiler.Phase phase = this.profiler.start("model build")) {
+                    factory = this.buildFactory();
                 }
-            };
-
-            Launcher launcher = new Launcher(baseFactory);
-            launcher.addInputResource(file.getSpoonResource());
-            launcher.getEnvironment().setShouldCompile(false);
-            launcher.getEnvironment().setSourceClasspath(new String[]{jar.toAbsolutePath().toString()});
-            launcher.getEnvironment().setNoClasspath(false);
-            launcher.getEnvironment().setCommentEnabled(true);
-            launcher.getEnvironment().setComplianceLevel(this.file.getVersion().getVersionNumber());
-            // The encoding might differ by file
-            launcher.getEnvironment().setEncodingProvider(
-                (spoonFile, fileBytes) -> {
-                    try {
-                        return this.file.getCompilationUnit(Path.of(spoonFile.getPath())).charset();
-                    } catch (Exception e) {
-                        return StandardCharsets.UTF_8;
+
+                if (this.modelCache != null) {
+                    try (Profiler.Phase phase = this.profiler.start("model cache store")) {
+                        this.modelCache.store(this.file, factory);
                     }
                 }
-            );
-            Environment environment = launcher.getEnvironment();
-
-            // types should not be qualified and parentheses should be removed if possible
-            environment.setPrettyPrinterCreator(() -> new DefaultJavaPrettyPrinter(environment) {
-                {
-                    // copy-pasted from StandardEnvironment#createPrettyPrinterAutoImport
-                    List<Processor<CtElement>> preprocessors = List.of(
-                        // try to import as many types as possible
-                        new ForceImportProcessor(),
-                        // remove unused imports first. Do not add new imports at a time when conflicts are not resolved
-                        new ImportCleaner().setCanAddImports(false),
-                        // solve conflicts, the current imports are relevant too
-                        new ImportConflictDetector(),
-                        // compute final imports
-                        new ImportCleaner().setImportComparator(new DefaultImportComparator())
-                    );
-                    this.setIgnoreImplicit(false);
-                    this.setPreprocessors(preprocessors);
-                    this.setMinimizeRoundBrackets(true);
-                }
-            });
-
-            if (this.userClassLoader != null) {
-                launcher.getEnvironment().setInputClassLoader(this.userClassLoader);
             } else {
-                launcher.getEnvironment().setInputClassLoader(this.classLoader);
+                // the environment is not part of the cached model
+                this.configureEnvironment(factory.getEnvironment());
             }
 
-            CtModel model;
-            try {
-                model = launcher.buildModel();
-            } catch (ModelBuildingException e) {
-                throw new RuntimeException(new ModelBuildException("Failed to parse the code", e));
-            }
-            this.factory = launcher.getFactory();
+            CtModel model = factory.getModel();
+            this.factory = factory;
 
             // Find the base package
             model.processWith(new AbstractProcessor<CtType<?>>() {
@@ -248,15 +207,111 @@ public final class CodeModel implements AutoCloseable {
                 }
             });
 
-            MethodHierarchy.buildFor(model);
-            UsesFinder.buildFor(model);
-            DuplicateCodeFinder.buildFor(model);
+            try (Profiler.Phase phase = this.profiler.start("index MethodHierarchy")) {
+                MethodHierarchy.buildFor(model);
+            }
+            try (Profiler.Phase phase = this.profiler.start("index UsesFinder")) {
+                UsesFinder.buildFor(model);
+            }
+            try (Profiler.Phase phase = this.profiler.start("index DuplicateCodeFinder")) {
+                DuplicateCodeFinder.buildFor(model);
+            }
 
             // Only set the model at the end when everything has been initialized
             this.model = model;
         }
     }
 
+    private Factory buildFactory() {
+        Launcher launcher = new Launcher(new AutograderFactory(new DefaultCoreFactory(), new StandardEnvironment()));
+        launcher.addInputResource(file.getSpoonResource());
+        this.configureEnvironment(launcher.getEnvironment());
+
+        try {
+            launcher.buildModel();
+        } catch (ModelBuildingException e) {
+            throw new RuntimeException(new ModelBuildException("Failed to parse the code", e));
+        }
+
+        return launcher.getFactory();
+    }
+
+    @SuppressWarnings({"java:S3599", "java:S1171"}) // ignore some sonarlint warnings
+    private void configureEnvironment(Environment environment) {
+        environment.setShouldCompile(false);
+        environment.setNoClasspath(false);
+        environment.setCommentEnabled(true);
+        environment.setComplianceLevel(this.file.getVersion().getVersionNumber());
+        // The encoding might differ by file
+        environment.setEncodingProvider(
+            (spoonFile, fileBytes) -> {
+                try {
+                    return this.file.getCompilationUnit(Path.of(spoonFile.getPath())).charset();
+                } catch (Exception e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        );
+
+        // types should not be qualified and parentheses should be removed if possible
+        environment.setPrettyPrinterCreator(() -> new DefaultJavaPrettyPrinter(environment) {
+            {
+                // copy-pasted from StandardEnvironment#createPrettyPrinterAutoImport
+                List<Processor<CtElement>> preprocessors = List.of(
+                    // try to import as many types as possible
+                    new ForceImportProcessor(),
+                    // remove unused imports first. Do not add new imports at a time when conflicts are not resolved
+                    new ImportCleaner().setCanAddImports(false),
+                    // solve conflicts, the current imports are relevant too
+                    new ImportConflictDetector(),
+                    // compute final imports
+                    new ImportCleaner().setImportComparator(new DefaultImportComparator())
+                );
+                this.setIgnoreImplicit(false);
+                this.setPreprocessors(preprocessors);
+                this.setMinimizeRoundBrackets(true);
+            }
+        });
+
+        environment.setInputClassLoader(this.classLoader);
+    }
+
+    // Fix for something similar to https://github.com/INRIA/spoon/issues/5868
+    //
+    // This is a named class, so that the factory can be serialized by the model cache.
+    private static final class AutograderFactory extends FactoryImpl {
+        private static final long serialVersionUID = 1L;
+
+        private transient CodeFactory code;
+
+        private AutograderFactory(CoreFactory coreFactory, Environment environment) {
+            super(coreFactory, environment);
+        }
+
+        @Override
+        public CodeFactory Code() {
+            if (this.code == null) {
+                this.code = new CodeFactory(this) {
+                    @Override
+                    public <T> CtCatchVariableReference<T> createCatchVariableReference(CtCatchVariable<T> catchVariable) {
+                        // The implementation of the original method is broken, resulting in elements which point to the
+                        // wrong or an invalid parent.
+                        //
+                        // This is a workaround until the issue is fixed in spoon.
+                        CtCatchVariableReference<T> ref = this.factory.Core().createCatchVariableReference();
+
+                        ref.setType(catchVariable.getType() == null ? null : catchVariable.getType().clone());
+                        ref.setSimpleName(catchVariable.getSimpleName());
+                        ref.setParent(catchVariable);
+
+                        return ref;
+                    }
+                };
+            }
+            return this.code;
+        }
+    }
+
     private static class ModelVisualizer extends CtScanner {
         private int level = 0;
 
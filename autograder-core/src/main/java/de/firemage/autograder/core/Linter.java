@@ -1,15 +1,21 @@
 package de.firemage.autograder.core;
 
 import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.AbstractProblem;
 import de.firemage.autograder.api.AbstractProblemType;
 import de.firemage.autograder.api.CheckConfiguration;
 import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LintResult;
 import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.api.SubmissionResult;
 import de.firemage.autograder.api.Translatable;
+import de.firemage.autograder.api.loader.ImplementationIndex;
 import de.firemage.autograder.core.check.Check;
 import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.file.TempLocation;
 import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.parallel.AnalysisScheduler;
+import de.firemage.autograder.core.parallel.AnalysisTask;
 import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
@@ -17,22 +23,32 @@ import org.reflections.util.ConfigurationBuilder;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public final class Linter implements AbstractLinter {
+    private static final int MAX_CACHED_CHECK_SETUPS = 8;
+
     private final int threads;
     private final TempLocation tempLocation;
     private final ClassLoader classLoader;
     private final int maxProblemsPerCheck;
+    private final ModelCache modelCache;
+    private final Path linterCacheDirectory;
     private final Translations translations;
+    // the checks and linters do not depend on the submission, so they are reused for all submissions with the same problem types
+    private final Map<Set<AbstractProblemType>, CheckSetup> checkSetups = new LinkedHashMap<>();
 
     public static Linter defaultLinter(Locale locale) {
         return new Linter(AbstractLinter.builder(locale));
@@ -46,6 +62,13 @@ public final class Linter implements AbstractLinter {
         this.threads = builder.getThreads();
         this.classLoader = builder.getClassLoader();
         this.maxProblemsPerCheck = builder.getMaxProblemsPerCheck();
+        this.modelCache = builder.getModelCacheDirectory() != null ? new ModelCache(builder.getModelCacheDirectory()) : null;
+        this.linterCacheDirectory = builder.getLinterCacheDirectory();
+
+        if (builder.isPreloadResources()) {
+            // the checks obtain their shared resources when they are created
+            this.findChecksForProblemTypes(Arrays.asList(ProblemType.values()));
+        }
     }
 
     public Translations getTranslations() {
@@ -54,18 +77,73 @@ public final class Linter implements AbstractLinter {
 
     @Override
     public List<Problem> checkFile(Path file, JavaVersion version, CheckConfiguration checkConfiguration, Consumer<Translatable> statusConsumer) throws LinterException, IOException {
-        try (var uploadedFile = UploadedFile.build(file, version, this.tempLocation, statusConsumer, this.classLoader)) {
+        try (var uploadedFile = UploadedFile.build(file, version, this.tempLocation, statusConsumer, this.classLoader, this.modelCache)) {
             return this.checkFile(uploadedFile, checkConfiguration, statusConsumer);
         }
     }
 
+    @Override
+    public LintResult<Problem> checkFileWithReport(Path file, JavaVersion version, CheckConfiguration checkConfiguration, Consumer<Translatable> statusConsumer) throws LinterException, IOException {
+        Profiler profiler = Profiler.create();
+
+        List<Problem> problems;
+        try (Profiler.Phase phase = profiler.start("total");
+             var uploadedFile = UploadedFile.build(file, version, this.tempLocation, statusConsumer, this.classLoader, this.modelCache, profiler)) {
+            problems = this.checkFile(uploadedFile, checkConfiguration, statusConsumer);
+        }
+
+        return new LintResult<>(problems, profiler.toReport());
+    }
+
+    @Override
+    public void checkFile(
+        Path file,
+        JavaVersion version,
+        CheckConfiguration checkConfiguration,
+        Consumer<Translatable> statusConsumer,
+        Consumer<? super AbstractProblem> problemConsumer
+    ) throws LinterException, IOException {
+        try (var uploadedFile = UploadedFile.build(file, version, this.tempLocation, statusConsumer, this.classLoader, this.modelCache)) {
+            CheckSetup setup = this.acquireCheckSetup(checkConfiguration);
+            this.checkFile(uploadedFile, checkConfiguration, setup.checks(), setup.codeLinters(), statusConsumer, problemConsumer);
+            this.releaseCheckSetup(setup);
+        }
+    }
+
+    @Override
+    public List<SubmissionResult<Problem>> checkFiles(
+        Iterable<Path> files,
+        JavaVersion version,
+        CheckConfiguration checkConfiguration,
+        Consumer<Translatable> statusConsumer
+    ) {
+        CheckSetup setup = this.acquireCheckSetup(checkConfiguration);
+
+        List<SubmissionResult<Problem>> results = new ArrayList<>();
+        for (Path file : files) {
+            try (var uploadedFile = UploadedFile.build(file, version, this.tempLocation, statusConsumer, this.classLoader, this.modelCache)) {
+                results.add(SubmissionResult.success(
+                    file,
+                    this.checkFile(uploadedFile, checkConfiguration, setup.checks(), setup.codeLinters(), statusConsumer, null)
+                ));
+            } catch (LinterException | IOException exception) {
+                results.add(SubmissionResult.failure(file, exception));
+            }
+        }
+
+        this.releaseCheckSetup(setup);
+        return results;
+    }
+
     public List<Problem> checkFile(
         UploadedFile file,
         CheckConfiguration checkConfiguration,
         Consumer<Translatable> statusConsumer
     ) throws LinterException, IOException {
-        var checks = this.findChecksForProblemTypes(checkConfiguration.problemsToReport());
-        return this.checkFile(file, checkConfiguration, checks, statusConsumer);
+        CheckSetup setup = this.acquireCheckSetup(checkConfiguration);
+        List<Problem> problems = this.checkFile(file, checkConfiguration, setup.checks(), setup.codeLinters(), statusConsumer, null);
+        this.releaseCheckSetup(setup);
+        return problems;
     }
 
     public List<Problem> checkFile(
@@ -73,6 +151,17 @@ public final class Linter implements AbstractLinter {
         CheckConfiguration checkConfiguration,
         Iterable<? extends Check> checks,
         Consumer<Translatable> statusConsumer
+    ) throws LinterException, IOException {
+        return this.checkFile(file, checkConfiguration, checks, this.findCodeLinter(), statusConsumer, null);
+    }
+
+    private List<Problem> checkFile(
+        UploadedFile file,
+        CheckConfiguration checkConfiguration,
+        Iterable<? extends Check> checks,
+        List<? extends CodeLinter<?>> codeLinters,
+        Consumer<Translatable> statusConsumer,
+        Consumer<? super AbstractProblem> problemConsumer
     ) throws LinterException, IOException {
         // the file is null if the student did not upload source code
         if (file == null) {
@@ -81,7 +170,6 @@ public final class Linter implements AbstractLinter {
 
         Map<CodeLinter<?>, List<Check>> linterChecks = new IdentityHashMap<>();
 
-        List<? extends CodeLinter<?>> codeLinters = this.findCodeLinter();
         for (Check check : checks) {
             for (CodeLinter<?> linter : codeLinters) {
                 if (linter.supportedCheckType().isInstance(check)) {
@@ -93,27 +181,26 @@ public final class Linter implements AbstractLinter {
         }
 
 
-        // TODO: refactor AnalysisScheduler/AnalysisThread to be simpler/easier to understand
-        //
-        // The code has been disabled, because of the following issues:
-        // - Spoon Code does not like to be run in parallel
-        // - Having checks run in parallel, resulted in bugs that were hard to reproduce, because they depended on the order
-        //   in which the checks were run
-        // - Crashes resulted in the program looping/hanging, instead of exiting with the thrown exception
-        //
-        // The last issue was the one that made me disable the code, because it made debugging very hard, and
-        // it was not clear how to fix it. It looks like the code is reinventing the wheel, instead of using
-        // existing solutions like ExecutorService.
-        //
-        //AnalysisScheduler scheduler = new AnalysisScheduler(this.threads, classLoader);
-
-        // AnalysisResult result;
+        // the linters report the problems of their checks concurrently, but the consumer must not be called concurrently
+        Object deliveryLock = new Object();
+        Consumer<List<Problem>> completedChecksConsumer = problems -> {
+            if (problemConsumer == null) {
+                return;
+            }
+
+            List<Problem> reducedProblems = this.mergeProblems(filterProblems(problems, checkConfiguration));
+            synchronized (deliveryLock) {
+                reducedProblems.forEach(problemConsumer);
+            }
+        };
+
         List<Problem> unreducedProblems = new ArrayList<>();
-        try (TempLocation tempLinterLocation = this.tempLocation.createTempDirectory("linter")) {
-            for (var entry : linterChecks.entrySet()) {
-                CodeLinter linter = entry.getKey();
+        try (AnalysisScheduler scheduler = new AnalysisScheduler(this.threads, this.classLoader)) {
+            List<AnalysisTask<List<Problem>, IOException>> lintTasks = new ArrayList<>();
+            // iterate over the code linters and not the map, so the problems are always merged in the same order
+            for (CodeLinter linter : codeLinters) {
                 var targetCheckType = linter.supportedCheckType();
-                var associatedChecks = castUnsafe(entry.getValue(), targetCheckType);
+                var associatedChecks = castUnsafe(linterChecks.getOrDefault(linter, List.of()), targetCheckType);
 
                 // skip linting if there are no checks for this linter
                 // some linters might do stuff even if there are no checks
@@ -121,27 +208,90 @@ public final class Linter implements AbstractLinter {
                     continue;
                 }
 
-                /*scheduler.submitTask((s, reporter) -> {
-                    reporter.reportProblems(linter.lint(
-                        file,
-                        tempLinterLocation,
-                        this.classLoader,
-                        associatedChecks,
-                        statusConsumer
-                    ));
-                });*/
-                unreducedProblems.addAll(linter.lint(
-                    file,
-                    tempLinterLocation,
-                    this.classLoader,
-                    associatedChecks,
-                    statusConsumer
-                ));
+                lintTasks.add(() -> {
+                    try (Profiler.Phase phase = file.getProfiler().start("linter " + linter.getClass().getSimpleName())) {
+                        return linter.lint(
+                            file,
+                            this.classLoader,
+                            scheduler,
+                            associatedChecks,
+                            statusConsumer,
+                            completedChecksConsumer
+                        );
+                    }
+                });
+            }
+
+            // The linters are independent of each other, so each one gets its own thread if parallelism is enabled.
+            //
+            // The threads must not be taken from the scheduler, because the linters themselves submit tasks
+            // to it and wait for them, which could deadlock if all threads are waiting.
+            int linterThreads = scheduler.isParallel() ? Math.max(lintTasks.size(), 1) : 1;
+            try (AnalysisScheduler linterScheduler = new AnalysisScheduler(linterThreads, this.classLoader)) {
+                for (List<Problem> problems : linterScheduler.runAll(lintTasks)) {
+                    unreducedProblems.addAll(problems);
+                }
             }
         }
 
+        return this.mergeProblems(filterProblems(unreducedProblems, checkConfiguration));
+    }
+
+    /**
+     * The checks for the problem types of a configuration, with the linters that execute them.
+     * <p>
+     * The linters keep state that depends on the checks, like the rule set of PMD, so a setup must not be used
+     * for two submissions at the same time.
+     */
+    private record CheckSetup(Set<AbstractProblemType> problemTypes, List<Check> checks, List<? extends CodeLinter<?>> codeLinters) {
+    }
+
+    /**
+     * Takes the setup for the configuration from the cache, or creates a new one if there is none.
+     * <p>
+     * The setup is removed from the cache until it is released, so concurrent calls get their own setup.
+     *
+     * @param checkConfiguration the configuration for which the setup is needed
+     * @return the setup, which should be released after use
+     */
+    private CheckSetup acquireCheckSetup(CheckConfiguration checkConfiguration) {
+        Set<AbstractProblemType> problemTypes = Set.copyOf(checkConfiguration.problemsToReport());
+        synchronized (this.checkSetups) {
+            CheckSetup setup = this.checkSetups.remove(problemTypes);
+            if (setup != null) {
+                return setup;
+            }
+        }
+
+        return new CheckSetup(problemTypes, this.findChecksForProblemTypes(problemTypes), this.findCodeLinter());
+    }
+
+    /**
+     * Puts the setup back into the cache, so that the next submission with the same configuration can use it.
+     * <p>
+     * A setup is not released if the linting failed, because its checks might be in an inconsistent state.
+     *
+     * @param setup the setup that is no longer used
+     */
+    private void releaseCheckSetup(CheckSetup setup) {
+        synchronized (this.checkSetups) {
+            if (this.checkSetups.containsKey(setup.problemTypes())) {
+                return;
+            }
+
+            // a long-running process might see many configurations, only the most recent ones are kept
+            if (this.checkSetups.size() >= MAX_CACHED_CHECK_SETUPS) {
+                this.checkSetups.remove(this.checkSetups.keySet().iterator().next());
+            }
+
+            this.checkSetups.put(setup.problemTypes(), setup);
+        }
+    }
+
+    private static List<Problem> filterProblems(List<Problem> unreducedProblems, CheckConfiguration checkConfiguration) {
+        List<Problem> result = unreducedProblems;
         if (!checkConfiguration.problemsToReport().isEmpty()) {
-            unreducedProblems = unreducedProblems
+            result = result
                 .stream()
                 .filter(problem -> checkConfiguration.problemsToReport().contains(problem.getProblemType()))
                 .toList();
@@ -150,13 +300,13 @@ public final class Linter implements AbstractLinter {
         // filter out problems in excluded classes
         var excludedClasses = checkConfiguration.excludedClasses();
         if (excludedClasses != null && !excludedClasses.isEmpty()) {
-            unreducedProblems = unreducedProblems.stream()
+            result = result.stream()
                     .filter(problem -> !checkConfiguration.excludedClasses()
                             .contains(problem.getPosition().file().getName().replace(".java", "")))
                     .toList();
         }
 
-        return this.mergeProblems(unreducedProblems);
+        return result;
     }
 
     private List<Problem> mergeProblems(Collection<? extends Problem> unreducedProblems) {
@@ -203,58 +353,93 @@ public final class Linter implements AbstractLinter {
         return message.format(this.translations);
     }
 
-    private static final Collection<Class<?>> CHECKS = new LinkedHashSet<>(
-            new Reflections(new ConfigurationBuilder()
-                    .forPackage("de.firemage.autograder", Linter.class.getClassLoader())
-                    .addClassLoaders(Linter.class.getClassLoader())
-                    .setScanners(Scanners.TypesAnnotated)
-            ).getTypesAnnotatedWith(ExecutableCheck.class)
-    );
+    // The checks are referenced by name, so only the checks that are needed have to be loaded.
+    private static final List<String> CHECKS;
+    private static final Map<ProblemType, List<String>> CHECKS_BY_PROBLEM_TYPE = new EnumMap<>(ProblemType.class);
+
+    static {
+        // the index is created at compile time, scanning the classpath is only a fallback because it is slow
+        Map<String, List<String>> checks = ImplementationIndex.findChecks(Linter.class.getClassLoader())
+            .orElseGet(Linter::scanForChecks);
+
+        CHECKS = List.copyOf(checks.keySet());
+        for (Map.Entry<String, List<String>> entry : checks.entrySet()) {
+            for (String problemType : entry.getValue()) {
+                CHECKS_BY_PROBLEM_TYPE.computeIfAbsent(ProblemType.valueOf(problemType), key -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+    }
+
+    private static Map<String, List<String>> scanForChecks() {
+        Map<String, List<String>> result = new TreeMap<>();
+        for (Class<?> check : new Reflections(new ConfigurationBuilder()
+                .forPackage("de.firemage.autograder", Linter.class.getClassLoader())
+                .addClassLoaders(Linter.class.getClassLoader())
+                .setScanners(Scanners.TypesAnnotated)
+        ).getTypesAnnotatedWith(ExecutableCheck.class)) {
+            ExecutableCheck annotation = check.getAnnotation(ExecutableCheck.class);
+            if (annotation != null && annotation.enabled()) {
+                result.put(check.getName(), Arrays.stream(annotation.reportedProblems()).map(ProblemType::name).toList());
+            }
+        }
+
+        return result;
+    }
 
     public List<Check> findChecksForProblemTypes(Collection<? extends AbstractProblemType> problems) {
+        Set<String> requiredChecks = new HashSet<>();
+        for (AbstractProblemType problem : problems) {
+            if (problem instanceof ProblemType problemType) {
+                requiredChecks.addAll(CHECKS_BY_PROBLEM_TYPE.getOrDefault(problemType, List.of()));
+            }
+        }
+
         return CHECKS
             .stream()
-            .filter(check -> isRequiredCheck(check.getAnnotation(ExecutableCheck.class), problems))
+            .filter(requiredChecks::contains)
             .map(check -> {
                 try {
-                    return (Check) check.getConstructor().newInstance();
+                    return (Check) loadClass(check).getConstructor().newInstance();
                 } catch (ReflectiveOperationException e) {
-                    throw new IllegalStateException("Failed to instantiate check " + check.getName(), e);
+                    throw new IllegalStateException("Failed to instantiate check " + check, e);
                 } catch (ClassCastException e) {
-                    throw new IllegalStateException(check.getName() + " does not inherit from Check");
+                    throw new IllegalStateException(check + " does not inherit from Check");
                 }
             })
             .toList();
     }
 
-    private static final Collection<Class<?>> CODE_LINTER = new LinkedHashSet<>(
-            new Reflections(new ConfigurationBuilder()
-                    .forPackage("de.firemage.autograder", Linter.class.getClassLoader())
-                    .addClassLoaders(Linter.class.getClassLoader())
-                    .setScanners(Scanners.SubTypes)
-            ).getSubTypesOf(CodeLinter.class)
-    );
+    private static final List<String> CODE_LINTER = ImplementationIndex.findImplementations(CodeLinter.class, Linter.class.getClassLoader())
+        .orElseGet(() -> new Reflections(new ConfigurationBuilder()
+            .forPackage("de.firemage.autograder", Linter.class.getClassLoader())
+            .addClassLoaders(Linter.class.getClassLoader())
+            .setScanners(Scanners.SubTypes)
+        ).getSubTypesOf(CodeLinter.class).stream().map(Class::getName).sorted().toList());
 
     public List<? extends CodeLinter<?>> findCodeLinter() {
         return CODE_LINTER
             .stream()
             .map(linter -> {
                 try {
-                    return (CodeLinter<?>) linter.getConstructor().newInstance();
+                    CodeLinter<?> instance = (CodeLinter<?>) loadClass(linter).getConstructor().newInstance();
+                    if (this.linterCacheDirectory != null) {
+                        instance.enableCache(this.linterCacheDirectory);
+                    }
+                    return instance;
                 } catch (ReflectiveOperationException e) {
-                    throw new IllegalStateException("Failed to instantiate check " + linter.getName(), e);
+                    throw new IllegalStateException("Failed to instantiate check " + linter, e);
                 } catch (ClassCastException e) {
-                    throw new IllegalStateException(linter.getName() + " does not inherit from Check");
+                    throw new IllegalStateException(linter + " does not inherit from Check");
                 }
             })
             .toList();
     }
 
-
-    private boolean isRequiredCheck(ExecutableCheck check, Collection<? extends AbstractProblemType> problems) {
-        return check.enabled() && problems.stream().anyMatch(p -> List.of(check.reportedProblems()).contains(p));
+    private static Class<?> loadClass(String name) throws ClassNotFoundException {
+        return Class.forName(name, true, Linter.class.getClassLoader());
     }
 
+
     private static <T> List<T> castUnsafe(Iterable<?> list, Class<? extends T> clazz) {
         List<T> result = new ArrayList<>();
 
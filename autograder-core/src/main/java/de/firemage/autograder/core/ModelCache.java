@@ -0,0 +1,130 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.core.file.CacheFileUtil;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.integrated.CoreUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spoon.Launcher;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.CtScanner;
+import spoon.support.SerializationModelStreamer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * A cache for built spoon models, which is persisted in a directory.
+ * <p>
+ * The models are keyed by a hash of the source code, the java version, the location of the source code and
+ * the versions of the autograder and spoon, so a changed submission or an update will never restore an
+ * outdated model. An entry that can not be read is treated as if it does not exist.
+ * <p>
+ * The cache stores the model as it has been built by spoon, before any check had a chance to modify it.
+ */
+public final class ModelCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ModelCache.class);
+    // must be incremented when the way the model is built changes
+    private static final int FORMAT_VERSION = 2;
+    private static final String FILE_EXTENSION = ".model";
+
+    private final Path directory;
+
+    public ModelCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Tries to restore the model of the given source.
+     *
+     * @param source the source for which the model has been built
+     * @return the factory of the restored model or an empty optional if there is no valid entry
+     */
+    public Optional<Factory> load(SourceInfo source) {
+        Path file;
+        try {
+            file = this.entryFor(source);
+        } catch (IOException exception) {
+            LOG.warn("Failed to read the source '{}' for the model cache", source.getName(), exception);
+            return Optional.empty();
+        }
+
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            Factory factory = new SerializationModelStreamer().load(inputStream);
+            restoreCompilationUnits(factory);
+            return Optional.of(factory);
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("Failed to restore the cached model '{}', it will be rebuilt", file, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the model of the given source in the cache.
+     * <p>
+     * Failing to store the model is not an error, it only means that the model has to be rebuilt next time.
+     *
+     * @param source the source for which the model has been built
+     * @param factory the factory of the model
+     */
+    public void store(SourceInfo source, Factory factory) {
+        try {
+            CacheFileUtil.writeAtomically(
+                this.entryFor(source),
+                outputStream -> new SerializationModelStreamer().save(factory, outputStream)
+            );
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("Failed to store the model of '{}' in the cache", source.getName(), exception);
+        }
+    }
+
+    // Spoon only restores the factory of the elements that are reachable from the modules. The elements that are
+    // only reachable through the compilation units (e.g. the imports) would still reference the default factory.
+    private static void restoreCompilationUnits(Factory factory) {
+        CtScanner scanner = new CtScanner() {
+            @Override
+            protected void enter(CtElement element) {
+                element.setFactory(factory);
+            }
+        };
+
+        CoreUtil.visitCtCompilationUnit(factory.getModel(), scanner::scan);
+    }
+
+    private Path entryFor(SourceInfo source) throws IOException {
+        return this.directory.resolve(computeKey(source) + FILE_EXTENSION);
+    }
+
+    private static String computeKey(SourceInfo source) throws IOException {
+        MessageDigest digest = CacheFileUtil.createDigest();
+
+        CacheFileUtil.update(digest, String.valueOf(FORMAT_VERSION));
+        CacheFileUtil.update(digest, String.valueOf(ModelCache.class.getPackage().getImplementationVersion()));
+        CacheFileUtil.update(digest, String.valueOf(Launcher.class.getPackage().getImplementationVersion()));
+        CacheFileUtil.update(digest, source.getVersion().getVersionString());
+        // the positions in the model reference the files, so the model can only be reused for the same location
+        CacheFileUtil.update(digest, source.path().toAbsolutePath().normalize().toString());
+
+        var compilationUnits = source.compilationUnits()
+            .stream()
+            .sorted(Comparator.comparing(compilationUnit -> compilationUnit.path().toString()))
+            .toList();
+        for (var compilationUnit : compilationUnits) {
+            CacheFileUtil.update(digest, compilationUnit.path().toString());
+            CacheFileUtil.update(digest, compilationUnit.charset().name());
+            CacheFileUtil.update(digest, compilationUnit.readString());
+        }
+
+        return CacheFileUtil.toHex(digest);
+    }
+}
@@ -0,0 +1,152 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.api.LintReport;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the resources used by the phases of checking a submission.
+ * <p>
+ * The phases can be measured from multiple threads at the same time.
+ */
+public final class Profiler {
+    /**
+     * A profiler that does not measure anything.
+     */
+    public static final Profiler NONE = new Profiler(false);
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final Phase DISABLED_PHASE = new Phase(null, null);
+
+    private final boolean isEnabled;
+    private final List<LintReport.Measurement> measurements;
+
+    private Profiler(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+        this.measurements = new ArrayList<>();
+    }
+
+    /**
+     * Creates a profiler that records the measurements.
+     *
+     * @return the new profiler
+     */
+    public static Profiler create() {
+        return new Profiler(true);
+    }
+
+    public boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    /**
+     * Starts measuring a phase, which ends when the returned phase is closed.
+     * <p>
+     * The phase must be closed by the thread that started it, preferably with a try-with-resources statement:
+     * <pre>{@code
+     * try (Profiler.Phase phase = profiler.start("compile")) {
+     *     // ...
+     * }
+     * }</pre>
+     *
+     * @param name the name under which the measurement is recorded
+     * @return the started phase
+     */
+    public Phase start(String name) {
+        if (!this.isEnabled) {
+            return DISABLED_PHASE;
+        }
+
+        return new Phase(this, name);
+    }
+
+    private void record(LintReport.Measurement measurement) {
+        synchronized (this.measurements) {
+            this.measurements.add(measurement);
+        }
+    }
+
+    /**
+     * Returns the measurements that have been recorded so far.
+     *
+     * @return the report
+     */
+    public LintReport toReport() {
+        synchronized (this.measurements) {
+            return new LintReport(List.copyOf(this.measurements));
+        }
+    }
+
+    private static long difference(long before, long after) {
+        if (before < 0 || after < 0) {
+            return -1;
+        }
+
+        return after - before;
+    }
+
+    private static long currentThreadCpuTime() {
+        if (!THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()) {
+            return -1;
+        }
+
+        return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        // this is only supported by the hotspot jvm
+        if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean threadMXBean && threadMXBean.isThreadAllocatedMemorySupported()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+    /**
+     * A phase that is currently measured.
+     */
+    public static final class Phase implements AutoCloseable {
+        private final Profiler profiler;
+        private final String name;
+        private final long cpuTimeBefore;
+        private final long allocatedBytesBefore;
+        private final long wallTimeBefore;
+
+        private Phase(Profiler profiler, String name) {
+            this.profiler = profiler;
+            this.name = name;
+
+            if (profiler == null) {
+                this.cpuTimeBefore = -1;
+                this.allocatedBytesBefore = -1;
+                this.wallTimeBefore = -1;
+            } else {
+                this.cpuTimeBefore = currentThreadCpuTime();
+                this.allocatedBytesBefore = currentThreadAllocatedBytes();
+                this.wallTimeBefore = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (this.profiler == null) {
+                return;
+            }
+
+            long wallTime = System.nanoTime() - this.wallTimeBefore;
+            long cpuTime = difference(this.cpuTimeBefore, currentThreadCpuTime());
+            long allocatedBytes = difference(this.allocatedBytesBefore, currentThreadAllocatedBytes());
+
+            this.profiler.record(new LintReport.Measurement(
+                this.name,
+                Thread.currentThread().getName(),
+                wallTime,
+                cpuTime,
+                allocatedBytes
+            ));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.firemage.autograder.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shares expensive resources (e.g. language models or compiled patterns) between all checks and submissions.
+ * <p>
+ * A new instance of a check is created for every checked submission, so a check that creates such a resource in its
+ * constructor would create it again for every submission. Instead, the check obtains it from the
+ * {@link #global() global registry}, which creates the resource the first time it is requested.
+ * <p>
+ * The resources are used by multiple checks at the same time, so they must be immutable or thread-safe.
+ */
+public final class ResourceRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceRegistry.class);
+    private static final ResourceRegistry GLOBAL = new ResourceRegistry();
+
+    private final Map<Key, Object> resources;
+
+    ResourceRegistry() {
+        this.resources = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the registry that is shared by the whole process.
+     *
+     * @return the global registry
+     */
+    public static ResourceRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the resource of the given type that has been created for the given parameter, or creates it if
+     * it does not exist yet.
+     * <p>
+     * If multiple threads request the same resource at the same time, it is only created once and the other
+     * threads wait for it. The factory must not request other resources from this registry.
+     *
+     * @param type the type of the resource
+     * @param parameter the parameter from which the resource is created, resources with different parameters are
+     *                  stored separately. It must implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     * @param factory creates the resource from the parameter
+     * @return the resource
+     * @param <T> the type of the resource
+     * @param <P> the type of the parameter
+     */
+    public <T, P> T get(Class<T> type, P parameter, Function<? super P, ? extends T> factory) {
+        return type.cast(this.resources.computeIfAbsent(new Key(type, parameter), key -> {
+            long beforeTime = System.nanoTime();
+            T resource = factory.apply(parameter);
+            long afterTime = System.nanoTime();
+            LOG.info("Created shared {} for {} in {}ms", type.getSimpleName(), parameter, (afterTime - beforeTime) / 1_000_000);
+            return resource;
+        }));
+    }
+
+    /**
+     * Returns the only resource of the given type, or creates it if it does not exist yet.
+     *
+     * @param type the type of the resource
+     * @param factory creates the resource
+     * @return the resource
+     * @param <T> the type of the resource
+     * @see #get(Class, Object, Function)
+     */
+    public <T> T get(Class<T> type, Supplier<? extends T> factory) {
+        return this.get(type, Key.NO_PARAMETER, parameter -> factory.get());
+    }
+
+    /**
+     * Returns the number of resources that have been created.
+     *
+     * @return the number of resources
+     */
+    public int size() {
+        return this.resources.size();
+    }
+
+    /**
+     * Removes all resources, they are created again the next time they are requested.
+     * <p>
+     * This frees the memory of the resources, once the checks that use them are no longer referenced.
+     * Caches that belong to a single linter, like the PMD rule set of its checks, are not stored here.
+     * They are freed together with the linter.
+     */
+    public void clear() {
+        this.resources.clear();
+    }
+
+    private record Key(Class<?> type, Object parameter) {
+        private static final Object NO_PARAMETER = new Object() {
+            @Override
+            public String toString() {
+                return "no parameter";
+            }
+        };
+    }
+}
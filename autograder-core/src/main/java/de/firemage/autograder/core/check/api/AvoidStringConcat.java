@@ -8,15 +8,17 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.MethodUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtInvocation;
 
+import java.util.List;
 import java.util.Map;
 
 @ExecutableCheck(reportedProblems = { ProblemType.AVOID_STRING_CONCAT })
 public class AvoidStringConcat extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtInvocation<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtInvocation<?>>() {
             @Override
             public void process(CtInvocation<?> ctInvocation) {
                 if (ctInvocation.isImplicit()
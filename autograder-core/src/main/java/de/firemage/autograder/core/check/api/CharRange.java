@@ -11,12 +11,14 @@ import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import org.apache.commons.lang3.Range;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -82,8 +84,8 @@ public class CharRange extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtBinaryOperator<Boolean>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtBinaryOperator<Boolean>>() {
             @Override
             @SuppressWarnings("unchecked")
             public void process(CtBinaryOperator<Boolean> ctBinaryOperator) {
@@ -8,6 +8,7 @@ import de.firemage.autograder.core.integrated.StatementUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtBreak;
 import spoon.reflect.code.CtExpression;
@@ -66,8 +67,8 @@ public class CheckIterableDuplicates extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtForEach>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtForEach>() {
             @Override
             public void process(CtForEach ctForEach) {
                 if (ctForEach.isImplicit() || !ctForEach.getPosition().isValidPosition()) {
@@ -6,15 +6,18 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtRecord;
 import spoon.reflect.declaration.CtType;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.EQUALS_HASHCODE_COMPARABLE_CONTRACT })
 public class EqualsHashCodeComparableContract extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtType<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtType<?>>() {
             @Override
             public void process(CtType<?> ctType) {
                 if (!ctType.isClass() && !ctType.isEnum() && !(ctType instanceof CtRecord)) {
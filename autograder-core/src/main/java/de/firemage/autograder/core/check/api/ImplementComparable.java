@@ -7,11 +7,13 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.CtTypeInformation;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
 import java.util.Map;
 
 @ExecutableCheck(reportedProblems = { ProblemType.IMPLEMENT_COMPARABLE })
@@ -26,8 +28,8 @@ public class ImplementComparable extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtClass<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtClass<?>>() {
             @Override
             public void process(CtClass<?> ctType) {
                 if (ctType.isImplicit()
@@ -6,9 +6,11 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtConstructorCall;
 import spoon.reflect.declaration.CtElement;
 
+import java.util.List;
 import java.util.Map;
 
 @ExecutableCheck(reportedProblems = {ProblemType.DEPRECATED_COLLECTION_USED})
@@ -22,8 +24,8 @@ public class OldCollectionCheck extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtConstructorCall<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtConstructorCall<?>>() {
             @Override
             public void process(CtConstructorCall ctConstructorCall) {
                 switch (ctConstructorCall.getType().getQualifiedName()) {
@@ -6,11 +6,14 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtTypedElement;
 import spoon.reflect.declaration.CtVariable;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.OPTIONAL_TRI_STATE })
 public class OptionalBadPractices extends IntegratedCheck {
     private void checkCtVariable(CtTypedElement<?> ctTypedElement) {
@@ -38,8 +41,8 @@ public class OptionalBadPractices extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtTypedElement<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtTypedElement<?>>() {
             @Override
             public void process(CtTypedElement<?> ctTypedElement) {
                 if (ctTypedElement.isImplicit() || !ctTypedElement.getPosition().isValidPosition()) {
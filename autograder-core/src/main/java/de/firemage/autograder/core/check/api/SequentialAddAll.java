@@ -11,6 +11,7 @@ import de.firemage.autograder.core.integrated.StatementUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtInvocation;
@@ -156,8 +157,8 @@ public class SequentialAddAll extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtBlock<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtBlock<?>>() {
             @Override
             public void process(CtBlock<?> ctBlock) {
                 if (ctBlock.isImplicit() || !ctBlock.getPosition().isValidPosition() || ctBlock.getStatements().size() < MIN_ADD_ALL_SIZE) {
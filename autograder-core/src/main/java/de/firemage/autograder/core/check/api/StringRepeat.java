@@ -11,6 +11,7 @@ import de.firemage.autograder.core.integrated.StatementUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtFor;
@@ -74,8 +75,8 @@ public class StringRepeat extends IntegratedCheck {
         }
     }
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtFor>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtFor>() {
             @Override
             public void process(CtFor ctFor) {
                 if (ctFor.isImplicit() || !ctFor.getPosition().isValidPosition()) {
@@ -10,6 +10,7 @@ import de.firemage.autograder.core.integrated.VariableUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtFieldRead;
 import spoon.reflect.code.CtNewArray;
@@ -115,8 +116,8 @@ public class UseEnumValues extends IntegratedCheck {
 
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtField<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtField<?>>() {
             @Override
             public void process(CtField<?> ctField) {
                 if (!VariableUtil.isEffectivelyFinal(ctField)) {
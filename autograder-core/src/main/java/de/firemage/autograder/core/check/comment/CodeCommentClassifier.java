@@ -0,0 +1,604 @@
+package de.firemage.autograder.core.check.comment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decides without a full parse whether the content of a comment is code, if this is obvious.
+ * <p>
+ * The content is split into java tokens and the decision is only made if it is certain that the parser would come
+ * to the same result:
+ * <ul>
+ *     <li>{@link Verdict#PROSE} if the content can not be lexed as java (e.g. the apostrophe in {@code don't}) or
+ *     contains three identifiers in a row, which is not possible in java, but in almost every sentence.</li>
+ *     <li>{@link Verdict#CODE} if one of the candidates is a block of simple statements (e.g. assignments,
+ *     method calls, if and while statements).</li>
+ * </ul>
+ * Everything else is {@link Verdict#UNKNOWN} and must be decided by the parser.
+ */
+final class CodeCommentClassifier {
+    enum Verdict {
+        CODE,
+        PROSE,
+        UNKNOWN
+    }
+
+    private static final Set<String> RESERVED_KEYWORDS = Set.of(
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+        "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+        "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+        "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+        "throw", "throws", "transient", "try", "void", "volatile", "while", "true", "false", "null", "_"
+    );
+
+    // these are identifiers in some places and keywords in others, so they are never used to decide anything
+    private static final Set<String> CONTEXTUAL_KEYWORDS = Set.of(
+        "var", "yield", "record", "sealed", "non", "permits", "when", "module", "open", "opens", "requires",
+        "exports", "to", "with", "uses", "provides", "transitive"
+    );
+
+    private static final Set<String> PRIMITIVE_TYPES = Set.of(
+        "boolean", "byte", "char", "short", "int", "long", "float", "double"
+    );
+
+    // sorted by length, so that the longest operator is matched
+    private static final List<String> OPERATORS = List.of(
+        ">>>=", "<<=", ">>=", ">>>", "...", "->", "::", "++", "--", "&&", "||", "==", "!=", "<=", ">=", "+=", "-=",
+        "*=", "/=", "%=", "&=", "|=", "^=", "<<", ">>", "(", ")", "{", "}", "[", "]", ";", ",", ".", "@", "=", ">",
+        "<", "!", "~", "?", ":", "+", "-", "*", "/", "&", "|", "^", "%"
+    );
+
+    private static final Set<String> BINARY_OPERATORS = Set.of(
+        "||", "&&", "|", "^", "&", "==", "!=", "<", ">", "<=", ">=", "<<", ">>", ">>>", "+", "-", "*", "/", "%"
+    );
+
+    private static final Set<String> ASSIGNMENT_OPERATORS = Set.of(
+        "=", "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=", "<<=", ">>=", ">>>="
+    );
+
+    private static final String SIMPLE_ESCAPES = "btnfr\"'\\";
+
+    private enum TokenType {
+        IDENTIFIER,
+        KEYWORD,
+        LITERAL,
+        OPERATOR
+    }
+
+    private record Token(TokenType type, String text) {
+        boolean is(String text) {
+            return (this.type == TokenType.OPERATOR || this.type == TokenType.KEYWORD) && this.text.equals(text);
+        }
+    }
+
+    /**
+     * Thrown by the lexer if the content is not valid java.
+     */
+    private static final class LexicalError extends Exception {
+        LexicalError() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Thrown by the lexer if it does not support the content, even though it might be valid java.
+     */
+    private static final class UnsupportedContent extends Exception {
+        UnsupportedContent() {
+            super(null, null, false, false);
+        }
+    }
+
+    private CodeCommentClassifier() {
+    }
+
+    /**
+     * Classifies the content of a comment.
+     *
+     * @param content the trimmed content of the comment
+     * @param candidates the blocks that are passed to the parser for the content, it is code if any of them parses
+     * @return the verdict
+     */
+    static Verdict classify(String content, Iterable<String> candidates) {
+        List<Token> tokens;
+        try {
+            tokens = tokenize(content);
+        } catch (LexicalError e) {
+            // the candidates only add brackets and semicolons, so they can not be lexed either
+            return Verdict.PROSE;
+        } catch (UnsupportedContent e) {
+            return Verdict.UNKNOWN;
+        }
+
+        if (hasIdentifierSequence(tokens)) {
+            return Verdict.PROSE;
+        }
+
+        for (String candidate : candidates) {
+            try {
+                if (new BlockRecognizer(tokenize(candidate)).isBlock()) {
+                    return Verdict.CODE;
+                }
+            } catch (LexicalError | UnsupportedContent e) {
+                // the candidate is left to the parser
+            }
+        }
+
+        return Verdict.UNKNOWN;
+    }
+
+    private static boolean hasIdentifierSequence(List<Token> tokens) {
+        int length = 0;
+        for (Token token : tokens) {
+            if (token.type() == TokenType.IDENTIFIER && !CONTEXTUAL_KEYWORDS.contains(token.text())) {
+                length += 1;
+                if (length == 3) {
+                    return true;
+                }
+            } else {
+                length = 0;
+            }
+        }
+
+        return false;
+    }
+
+    private static List<Token> tokenize(String content) throws LexicalError, UnsupportedContent {
+        List<Token> tokens = new ArrayList<>();
+
+        int i = 0;
+        while (i < content.length()) {
+            char c = content.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+                i += 1;
+            } else if (c == '/' && i + 1 < content.length() && (content.charAt(i + 1) == '/' || content.charAt(i + 1) == '*')) {
+                // the parser would ignore the rest of the comment, which the lexer does not support
+                throw new UnsupportedContent();
+            } else if (c == '\\') {
+                // unicode escapes are translated before lexing
+                throw new UnsupportedContent();
+            } else if (c == '#' || c == '`') {
+                throw new LexicalError();
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i + 1;
+                while (end < content.length() && Character.isJavaIdentifierPart(content.charAt(end))) {
+                    end += 1;
+                }
+
+                String text = content.substring(i, end);
+                tokens.add(new Token(RESERVED_KEYWORDS.contains(text) ? TokenType.KEYWORD : TokenType.IDENTIFIER, text));
+                i = end;
+            } else if (c >= '0' && c <= '9') {
+                i = readNumber(content, i, tokens);
+            } else if (c == '"') {
+                i = readString(content, i, tokens);
+            } else if (c == '\'') {
+                i = readCharacter(content, i, tokens);
+            } else {
+                i = readOperator(content, i, tokens);
+            }
+        }
+
+        return tokens;
+    }
+
+    private static int readNumber(String content, int start, List<Token> tokens) throws UnsupportedContent {
+        // only simple decimal numbers like 0, 12, 3.5 or 10L are supported
+        int end = start;
+        while (end < content.length() && isDigit(content.charAt(end))) {
+            end += 1;
+        }
+
+        if (content.charAt(start) == '0' && end - start > 1) {
+            throw new UnsupportedContent();
+        }
+
+        String suffixes = "lLfFdD";
+        if (end + 1 < content.length() && content.charAt(end) == '.' && isDigit(content.charAt(end + 1))) {
+            end += 1;
+            while (end < content.length() && isDigit(content.charAt(end))) {
+                end += 1;
+            }
+            // 1.5L is not a valid literal
+            suffixes = "fFdD";
+        }
+
+        if (end < content.length() && suffixes.indexOf(content.charAt(end)) >= 0) {
+            end += 1;
+        }
+
+        if (end < content.length() && (Character.isJavaIdentifierPart(content.charAt(end)) || content.charAt(end) == '.')) {
+            throw new UnsupportedContent();
+        }
+
+        tokens.add(new Token(TokenType.LITERAL, content.substring(start, end)));
+        return end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int readString(String content, int start, List<Token> tokens) throws UnsupportedContent {
+        if (content.startsWith("\"\"\"", start)) {
+            // text blocks may span multiple lines
+            throw new UnsupportedContent();
+        }
+
+        int i = start + 1;
+        while (i < content.length()) {
+            char c = content.charAt(i);
+            if (c == '"') {
+                tokens.add(new Token(TokenType.LITERAL, content.substring(start, i + 1)));
+                return i + 1;
+            } else if (c == '\\' && i + 1 < content.length() && SIMPLE_ESCAPES.indexOf(content.charAt(i + 1)) >= 0) {
+                i += 2;
+            } else if (c == '\\' || c == '\n' || c == '\r') {
+                throw new UnsupportedContent();
+            } else {
+                i += 1;
+            }
+        }
+
+        throw new UnsupportedContent();
+    }
+
+    private static int readCharacter(String content, int start, List<Token> tokens) throws LexicalError, UnsupportedContent {
+        int end;
+        if (start + 1 < content.length() && content.charAt(start + 1) == '\\') {
+            if (start + 3 >= content.length() || SIMPLE_ESCAPES.indexOf(content.charAt(start + 2)) < 0) {
+                throw new UnsupportedContent();
+            }
+            end = start + 3;
+        } else {
+            end = start + 2;
+        }
+
+        if (end >= content.length() || content.charAt(end) != '\'') {
+            // like the apostrophe in "don't"
+            throw new LexicalError();
+        }
+
+        char value = content.charAt(start + 1);
+        if (value == '\'' || value == '\n' || value == '\r') {
+            throw new LexicalError();
+        }
+
+        tokens.add(new Token(TokenType.LITERAL, content.substring(start, end + 1)));
+        return end + 1;
+    }
+
+    private static int readOperator(String content, int start, List<Token> tokens) throws UnsupportedContent {
+        for (String operator : OPERATORS) {
+            if (content.startsWith(operator, start)) {
+                tokens.add(new Token(TokenType.OPERATOR, operator));
+                return start + operator.length();
+            }
+        }
+
+        throw new UnsupportedContent();
+    }
+
+    /**
+     * Recognizes a small subset of java blocks, every recognized block is accepted by the parser as well.
+     * <p>
+     * Anything that might be ambiguous for the parser (e.g. casts, generics and lambdas) is not recognized.
+     */
+    private static final class BlockRecognizer {
+        private final List<Token> tokens;
+        private int position;
+
+        private BlockRecognizer(List<Token> tokens) {
+            this.tokens = tokens;
+            this.position = 0;
+        }
+
+        boolean isBlock() {
+            // comparisons like a < b > c could be parsed as generic types
+            boolean hasLess = this.tokens.stream().anyMatch(token -> token.is("<") || token.is("<<"));
+            boolean hasGreater = this.tokens.stream().anyMatch(token -> token.is(">") || token.is(">>") || token.is(">>>"));
+            if (hasLess && hasGreater) {
+                return false;
+            }
+
+            // the parser might not support the same letters in identifiers
+            boolean hasUnsupportedIdentifier = this.tokens.stream()
+                .filter(token -> token.type() == TokenType.IDENTIFIER)
+                .anyMatch(token -> CONTEXTUAL_KEYWORDS.contains(token.text()) || !isAsciiIdentifier(token.text()));
+            if (hasUnsupportedIdentifier) {
+                return false;
+            }
+
+            return this.block() && this.position == this.tokens.size();
+        }
+
+        private static boolean isAsciiIdentifier(String text) {
+            return text.chars().allMatch(c -> c < 128);
+        }
+
+        private Token peek(int offset) {
+            int index = this.position + offset;
+            return index < this.tokens.size() ? this.tokens.get(index) : null;
+        }
+
+        private boolean accept(String text) {
+            Token token = this.peek(0);
+            if (token != null && token.is(text)) {
+                this.position += 1;
+                return true;
+            }
+
+            return false;
+        }
+
+        private boolean acceptType(TokenType type) {
+            Token token = this.peek(0);
+            if (token != null && token.type() == type) {
+                this.position += 1;
+                return true;
+            }
+
+            return false;
+        }
+
+        private boolean block() {
+            if (!this.accept("{")) {
+                return false;
+            }
+
+            while (!this.accept("}")) {
+                if (this.peek(0) == null || !this.statement(true)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean statement(boolean allowDeclaration) {
+            Token token = this.peek(0);
+            if (token == null) {
+                return false;
+            }
+
+            if (token.is("{")) {
+                return this.block();
+            }
+
+            if (this.accept(";")) {
+                return true;
+            }
+
+            if (this.accept("if")) {
+                // a declaration is not allowed as the body of an if or while statement
+                if (!this.parenthesizedExpression() || !this.statement(false)) {
+                    return false;
+                }
+
+                return !this.accept("else") || this.statement(false);
+            }
+
+            if (this.accept("while")) {
+                return this.parenthesizedExpression() && this.statement(false);
+            }
+
+            if (this.accept("return")) {
+                return this.accept(";") || (this.expression() && this.accept(";"));
+            }
+
+            if (this.accept("break") || this.accept("continue")) {
+                return this.accept(";");
+            }
+
+            int start = this.position;
+            if (allowDeclaration && this.localVariable() && this.accept(";")) {
+                return true;
+            }
+
+            this.position = start;
+            return this.statementExpression() && this.accept(";");
+        }
+
+        private boolean parenthesizedExpression() {
+            return this.accept("(") && this.expression() && this.accept(")");
+        }
+
+        private boolean localVariable() {
+            if (!this.type()) {
+                return false;
+            }
+
+            do {
+                if (!this.acceptType(TokenType.IDENTIFIER)) {
+                    return false;
+                }
+
+                if (this.accept("=") && !this.expression()) {
+                    return false;
+                }
+            } while (this.accept(","));
+
+            return true;
+        }
+
+        private boolean type() {
+            Token token = this.peek(0);
+            if (token != null && token.type() == TokenType.KEYWORD && PRIMITIVE_TYPES.contains(token.text())) {
+                this.position += 1;
+            } else if (!this.qualifiedName()) {
+                return false;
+            }
+
+            while (this.accept("[")) {
+                if (!this.accept("]")) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean qualifiedName() {
+            if (!this.acceptType(TokenType.IDENTIFIER)) {
+                return false;
+            }
+
+            while (this.accept(".")) {
+                if (!this.acceptType(TokenType.IDENTIFIER)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean statementExpression() {
+            if (this.accept("++") || this.accept("--")) {
+                return this.postfix() != Postfix.NONE;
+            }
+
+            Postfix postfix = this.postfix();
+            if (postfix == Postfix.NONE) {
+                return false;
+            }
+
+            Token token = this.peek(0);
+            if (token != null && token.type() == TokenType.OPERATOR && ASSIGNMENT_OPERATORS.contains(token.text())) {
+                this.position += 1;
+                return postfix == Postfix.VARIABLE && this.expression();
+            }
+
+            if (this.accept("++") || this.accept("--")) {
+                return postfix == Postfix.VARIABLE;
+            }
+
+            // only method calls and object creations are valid statements on their own
+            return postfix == Postfix.CALL || postfix == Postfix.CREATION;
+        }
+
+        private boolean expression() {
+            if (!this.unary()) {
+                return false;
+            }
+
+            while (true) {
+                Token token = this.peek(0);
+                if (token == null || token.type() != TokenType.OPERATOR || !BINARY_OPERATORS.contains(token.text())) {
+                    break;
+                }
+
+                this.position += 1;
+                if (!this.unary()) {
+                    return false;
+                }
+            }
+
+            if (this.accept("?")) {
+                return this.expression() && this.accept(":") && this.expression();
+            }
+
+            return true;
+        }
+
+        private boolean unary() {
+            if (this.accept("!") || this.accept("-") || this.accept("+") || this.accept("~")) {
+                return this.unary();
+            }
+
+            return this.postfix() != Postfix.NONE;
+        }
+
+        /**
+         * The kind of the last part of an expression, which decides whether it can be used as a statement.
+         */
+        private enum Postfix {
+            NONE,
+            VARIABLE,
+            CALL,
+            CREATION,
+            OTHER
+        }
+
+        private Postfix postfix() {
+            Postfix result = this.primary();
+            if (result == Postfix.NONE) {
+                return Postfix.NONE;
+            }
+
+            while (true) {
+                if (this.accept(".")) {
+                    if (!this.acceptType(TokenType.IDENTIFIER)) {
+                        return Postfix.NONE;
+                    }
+                    result = Postfix.VARIABLE;
+                } else if (this.peek(0) != null && this.peek(0).is("(")) {
+                    // only names can be called
+                    if (result != Postfix.VARIABLE || !this.arguments()) {
+                        return Postfix.NONE;
+                    }
+                    result = Postfix.CALL;
+                } else if (this.accept("[")) {
+                    if (!this.expression() || !this.accept("]")) {
+                        return Postfix.NONE;
+                    }
+                    result = Postfix.VARIABLE;
+                } else {
+                    return result;
+                }
+            }
+        }
+
+        private Postfix primary() {
+            if (this.acceptType(TokenType.IDENTIFIER)) {
+                return Postfix.VARIABLE;
+            }
+
+            if (this.acceptType(TokenType.LITERAL) || this.accept("true") || this.accept("false") || this.accept("null")) {
+                return Postfix.OTHER;
+            }
+
+            if (this.accept("this")) {
+                // this(...) is only allowed in constructors
+                Token token = this.peek(0);
+                return token != null && token.is(".") ? Postfix.OTHER : Postfix.NONE;
+            }
+
+            if (this.accept("new")) {
+                return this.qualifiedName() && this.arguments() ? Postfix.CREATION : Postfix.NONE;
+            }
+
+            if (this.peek(0) != null && this.peek(0).is("(")) {
+                // (a) b could be a cast
+                int start = this.position;
+                if (this.parenthesizedExpression()) {
+                    Token token = this.peek(0);
+                    if (token == null || token.type() == TokenType.OPERATOR && !token.is("(")) {
+                        return Postfix.OTHER;
+                    }
+                }
+                this.position = start;
+            }
+
+            return Postfix.NONE;
+        }
+
+        private boolean arguments() {
+            if (!this.accept("(")) {
+                return false;
+            }
+
+            if (this.accept(")")) {
+                return true;
+            }
+
+            do {
+                if (!this.expression()) {
+                    return false;
+                }
+            } while (this.accept(","));
+
+            return this.accept(")");
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package de.firemage.autograder.core.check.comment;
 
-import com.github.javaparser.ParseProblemException;
-import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.JavaParser;
 import de.firemage.autograder.api.Translatable;
 import de.firemage.autograder.core.CodePosition;
 import de.firemage.autograder.core.LocalizedMessage;
 import de.firemage.autograder.core.ProblemType;
+import de.firemage.autograder.core.ResourceRegistry;
 import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.file.SourcePath;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ExecutableCheck(reportedProblems = {ProblemType.COMMENTED_OUT_CODE})
 public class CommentedOutCodeCheck extends IntegratedCheck {
@@ -35,6 +36,13 @@ public class CommentedOutCodeCheck extends IntegratedCheck {
         CtComment.CommentType.BLOCK,
         CtComment.CommentType.INLINE
     );
+    private static final int MAX_CACHED_RESULTS = 10_000;
+
+    private final CommentParser parser;
+
+    public CommentedOutCodeCheck() {
+        this.parser = ResourceRegistry.global().get(CommentParser.class, CommentParser::new);
+    }
 
     @Override
     protected void check(StaticAnalysis staticAnalysis) {
@@ -85,26 +93,29 @@ public class CommentedOutCodeCheck extends IntegratedCheck {
         });
     }
 
-    private static boolean isValidCode(String content) {
-        return !content.isEmpty() && containsSpecialCharacters(content) && isValidCodeInternal(content);
+    private boolean isValidCode(String content) {
+        return !content.isEmpty() && containsSpecialCharacters(content) && isParsable(content);
     }
     
     private static boolean containsSpecialCharacters(String content) {
         return StringUtils.containsAny(content, ';', '{', '}', '=', '(', ')', '-', '<', '>', '?', ':', '+', '.', ',');
     }
 
-    private static boolean isValidCodeInternal(String content) {
-        return prepareCode(content).stream().anyMatch(formatted -> {
-                    try {
-                        StaticJavaParser.parseBlock(formatted);
-                        return true;
-                    } catch (ParseProblemException e) {
-                        return false;
-                    }
-                });
+    private boolean isParsable(String content) {
+        List<String> candidates = prepareCode(content);
+        // most comments are obviously prose or code, the parser is only needed for the others
+        return switch (CodeCommentClassifier.classify(content, candidates)) {
+            case CODE -> true;
+            case PROSE -> false;
+            case UNKNOWN -> this.parser.isParsable(content, candidates);
+        };
     }
 
-    private static List<String> prepareCode(String content) {
+    boolean isParsableByParser(Collection<String> candidates) {
+        return this.parser.isParsableByParser(candidates);
+    }
+
+    static List<String> prepareCode(String content) {
         String stripped = content.strip();
         return wrapAsBlock(getDifferentVersions(stripped));
     }
@@ -138,6 +149,37 @@ public class CommentedOutCodeCheck extends IntegratedCheck {
                 .toList();
     }
 
+    /**
+     * Parses the comments that can not be classified without a parser.
+     * <p>
+     * Creating a parser is expensive and comments are often the same in many submissions (e.g. code from
+     * the assignment), so the parsers and the results are shared by all instances of the check.
+     */
+    private static final class CommentParser {
+        // the parser is not thread-safe
+        private final ThreadLocal<JavaParser> parser = ThreadLocal.withInitial(JavaParser::new);
+        private final Map<String, Boolean> results = new ConcurrentHashMap<>();
+
+        boolean isParsable(String content, Collection<String> candidates) {
+            Boolean cachedResult = this.results.get(content);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+
+            boolean result = this.isParsableByParser(candidates);
+            if (this.results.size() >= MAX_CACHED_RESULTS) {
+                this.results.clear();
+            }
+            this.results.put(content, result);
+            return result;
+        }
+
+        boolean isParsableByParser(Collection<String> candidates) {
+            JavaParser javaParser = this.parser.get();
+            return candidates.stream().anyMatch(candidate -> javaParser.parseBlock(candidate).isSuccessful());
+        }
+    }
+
     private final class RunningPosition {
         int startLine;
         int endLine;
@@ -6,13 +6,16 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtComment;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.TODO_COMMENT })
 public class TodoComment extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtComment>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtComment>() {
             @Override
             public void process(CtComment ctComment) {
                 if (ctComment.isImplicit()
@@ -2,11 +2,13 @@ package de.firemage.autograder.core.check.comment;
 
 import de.firemage.autograder.core.LocalizedMessage;
 import de.firemage.autograder.core.ProblemType;
+import de.firemage.autograder.core.ResourceRegistry;
 import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.ElementUtil;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtJavaDoc;
 import spoon.reflect.code.CtJavaDocTag;
 import spoon.reflect.declaration.CtRecord;
@@ -43,12 +45,12 @@ public class TypeJavadocCheck extends IntegratedCheck {
 
     public TypeJavadocCheck(String regex) {
         super();
-        this.pattern = Pattern.compile(regex);
+        this.pattern = ResourceRegistry.global().get(Pattern.class, regex, Pattern::compile);
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtType<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtType<?>>() {
             @Override
             public void process(CtType<?> type) {
                 Optional<CtJavaDoc> javadoc = ElementUtil.getJavadoc(type);
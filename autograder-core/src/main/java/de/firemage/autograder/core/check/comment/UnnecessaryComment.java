@@ -52,6 +52,9 @@ public class UnnecessaryComment extends IntegratedCheck {
 
     @Override
     protected void check(StaticAnalysis staticAnalysis) {
+        // the check instance might be reused for multiple submissions
+        this.visitedComments.clear();
+
         staticAnalysis.processWith(new AbstractProcessor<>() {
             @Override
             public void process(CtElement element) {
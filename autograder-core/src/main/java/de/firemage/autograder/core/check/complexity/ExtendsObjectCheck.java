@@ -6,14 +6,17 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = {ProblemType.EXPLICITLY_EXTENDS_OBJECT})
 public class ExtendsObjectCheck extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtClass<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtClass<?>>() {
             @Override
             public void process(CtClass<?> ctClass) {
                 CtTypeReference<?> ctTypeReference = ctClass.getSuperclass();
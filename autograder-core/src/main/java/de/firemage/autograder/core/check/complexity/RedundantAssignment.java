@@ -9,6 +9,7 @@ import de.firemage.autograder.core.integrated.StatementUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.UsesFinder;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtLocalVariable;
 import spoon.reflect.code.CtStatement;
@@ -25,8 +26,8 @@ import java.util.Map;
 @ExecutableCheck(reportedProblems = { ProblemType.REDUNDANT_ASSIGNMENT })
 public class RedundantAssignment extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtAssignment<?, ?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtAssignment<?, ?>>() {
             @Override
             public void process(CtAssignment<?, ?> ctAssignment) {
                 if (ctAssignment.isImplicit()
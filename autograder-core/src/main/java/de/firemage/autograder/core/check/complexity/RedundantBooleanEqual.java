@@ -7,10 +7,12 @@ import de.firemage.autograder.core.integrated.ExpressionUtil;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.code.CtExpression;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -45,8 +47,8 @@ public class RedundantBooleanEqual extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtBinaryOperator<Boolean>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtBinaryOperator<Boolean>>() {
 
             @Override
             public void process(CtBinaryOperator<Boolean> ctBinaryOperator) {
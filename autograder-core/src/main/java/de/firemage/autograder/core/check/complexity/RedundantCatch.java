@@ -9,6 +9,7 @@ import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.effects.Effect;
 import de.firemage.autograder.core.integrated.effects.TerminalEffect;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtCatch;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.code.CtVariableRead;
@@ -20,8 +21,8 @@ import java.util.Optional;
 @ExecutableCheck(reportedProblems = { ProblemType.REDUNDANT_CATCH })
 public class RedundantCatch extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtCatch>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtCatch>() {
             @Override
             public void process(CtCatch ctCatch) {
                 if (ctCatch.isImplicit() || !ctCatch.getPosition().isValidPosition()) return;
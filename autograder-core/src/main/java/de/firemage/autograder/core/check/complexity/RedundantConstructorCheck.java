@@ -9,6 +9,7 @@ import de.firemage.autograder.core.integrated.StaticAnalysis;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtFieldWrite;
@@ -22,6 +23,7 @@ import spoon.reflect.declaration.CtRecord;
 import spoon.reflect.reference.CtParameterReference;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 @ExecutableCheck(reportedProblems = {ProblemType.REDUNDANT_DEFAULT_CONSTRUCTOR})
@@ -30,8 +32,8 @@ public class RedundantConstructorCheck extends IntegratedCheck {
     private static final Translatable MESSAGE = new LocalizedMessage("implicit-constructor-exp");
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtClass<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtClass<?>>() {
             @Override
             public void process(CtClass<?> element) {
                 CtConstructor<?> redundantCtor = null;
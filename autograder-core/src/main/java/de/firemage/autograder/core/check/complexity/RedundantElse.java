@@ -9,6 +9,7 @@ import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.effects.Effect;
 import de.firemage.autograder.core.integrated.effects.TerminalEffect;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtIf;
 import spoon.reflect.code.CtStatement;
 
@@ -92,8 +93,8 @@ public class RedundantElse extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtIf>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtIf>() {
             @Override
             public void process(CtIf ctIf) {
                 if (ctIf.isImplicit() || !ctIf.getPosition().isValidPosition()) {
@@ -6,6 +6,7 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtFieldAccess;
@@ -19,6 +20,7 @@ import spoon.reflect.reference.CtFieldReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.reference.CtVariableReference;
 
+import java.util.List;
 import java.util.Map;
 
 @ExecutableCheck(reportedProblems = { ProblemType.REDUNDANT_SELF_ASSIGNMENT })
@@ -94,8 +96,8 @@ public class SelfAssignmentCheck extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtAssignment<?, ?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtAssignment<?, ?>>() {
             @Override
             public void process(CtAssignment<?, ?> assignment) {
                 CtExpression<?> lhs = assignment.getAssigned();
@@ -120,4 +122,10 @@ public class SelfAssignmentCheck extends IntegratedCheck {
             }
         });
     }
+
+    @Override
+    public boolean isParallelizable() {
+        // the check modifies the targets of field accesses in the model
+        return false;
+    }
 }
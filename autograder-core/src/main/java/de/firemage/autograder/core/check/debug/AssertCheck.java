@@ -6,13 +6,16 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtAssert;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = {ProblemType.ASSERT})
 public class AssertCheck extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtAssert<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtAssert<?>>() {
             @Override
             public void process(CtAssert<?> element) {
                 addLocalProblem(element, new LocalizedMessage("assert-used"), ProblemType.ASSERT);
@@ -7,9 +7,12 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtInvocation;
 import spoon.reflect.code.CtVariableRead;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = {ProblemType.EXCEPTION_PRINT_STACK_TRACE})
 public class PrintStackTraceCheck extends IntegratedCheck {
     private static boolean hasInvokedPrintStackTrace(CtInvocation<?> ctInvocation) {
@@ -22,8 +25,8 @@ public class PrintStackTraceCheck extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtInvocation<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtInvocation<?>>() {
             @Override
             public void process(CtInvocation<?> ctInvocation) {
                 if (hasInvokedPrintStackTrace(ctInvocation)) {
@@ -7,6 +7,7 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StatementUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtCatch;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.code.CtThrow;
@@ -20,8 +21,8 @@ public class RuntimeExceptionCatchCheck extends IntegratedCheck {
     private static final List<String> ALLOWED_EXCEPTIONS = List.of("java.lang.NumberFormatException");
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtCatch>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtCatch>() {
             @Override
             public void process(CtCatch ctCatch) {
                 CtTypeReference<?> runtimeException = ctCatch.getFactory().createCtTypeReference(java.lang.RuntimeException.class);
@@ -11,6 +11,7 @@ import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import de.firemage.autograder.core.integrated.UsesFinder;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtCatch;
 import spoon.reflect.code.CtCatchVariable;
 import spoon.reflect.code.CtConstructorCall;
@@ -104,8 +105,8 @@ public class TryBlockSize extends IntegratedCheck {
     }
 
     @Override
-    public void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtTry>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtTry>() {
             @Override
             public void process(CtTry ctTry) {
                 if (ctTry.isImplicit() || !ctTry.getPosition().isValidPosition()) {
@@ -6,13 +6,16 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtStatement;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.AVOID_LABELS })
 public class AvoidLabels extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtStatement>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtStatement>() {
             @Override
             public void process(CtStatement ctStatement) {
                 if (ctStatement.getLabel() != null) {
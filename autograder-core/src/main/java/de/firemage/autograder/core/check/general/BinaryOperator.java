@@ -7,10 +7,12 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.visitor.filter.TypeFilter;
 
+import java.util.List;
 import java.util.Set;
 
 @ExecutableCheck(reportedProblems = { ProblemType.BINARY_OPERATOR_ON_BOOLEAN })
@@ -21,8 +23,8 @@ public class BinaryOperator extends IntegratedCheck {
     );
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtBinaryOperator<Boolean>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtBinaryOperator<Boolean>>() {
             @Override
             public void process(CtBinaryOperator<Boolean> ctBinaryOperator) {
                 if (ctBinaryOperator.isImplicit()
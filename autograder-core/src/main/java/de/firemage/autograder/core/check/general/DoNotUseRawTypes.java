@@ -6,11 +6,13 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
 import java.util.Optional;
 
 @ExecutableCheck(reportedProblems = { ProblemType.DO_NOT_USE_RAW_TYPES })
@@ -37,8 +39,8 @@ public class DoNotUseRawTypes extends IntegratedCheck {
     } //
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtTypeReference<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtTypeReference<?>>() {
             @Override
             public void process(CtTypeReference<?> ctTypeReference) {
                 // skip references which have no position in source code
@@ -6,16 +6,19 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtConstructorCall;
 import spoon.reflect.code.CtInvocation;
 import spoon.reflect.code.CtTryWithResource;
 import spoon.reflect.reference.CtTypeReference;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = {ProblemType.SCANNER_MUST_BE_CLOSED})
 public class ScannerClosedCheck extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtConstructorCall<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtConstructorCall<?>>() {
             @Override
             public void process(CtConstructorCall<?> ctConstructorCall) {
                 CtTypeReference<?> ctTypeReference = ctConstructorCall.getType();
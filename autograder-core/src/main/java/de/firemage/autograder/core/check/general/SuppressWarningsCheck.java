@@ -6,13 +6,16 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtAnnotation;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = {ProblemType.SUPPRESS_WARNINGS_USED})
 public class SuppressWarningsCheck extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtAnnotation<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtAnnotation<?>>() {
             @Override
             public void process(CtAnnotation<?> annotation) {
                 if (annotation.getAnnotationType().getQualifiedName().equals("java.lang.SuppressWarnings")) {
@@ -6,16 +6,18 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtLiteral;
 import spoon.reflect.code.CtTextBlock;
 
+import java.util.List;
 import java.util.Optional;
 
 @ExecutableCheck(reportedProblems = { ProblemType.SYSTEM_SPECIFIC_LINE_BREAK })
 public class SystemSpecificLineBreak extends IntegratedCheck {
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtLiteral<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtLiteral<?>>() {
             @Override
             public void process(CtLiteral<?> literal) {
                 if (literal.isImplicit() || !literal.getPosition().isValidPosition()) {
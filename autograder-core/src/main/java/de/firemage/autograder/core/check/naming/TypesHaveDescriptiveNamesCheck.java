@@ -6,6 +6,7 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtType;
 
 import java.util.List;
@@ -16,8 +17,8 @@ public class TypesHaveDescriptiveNamesCheck extends IntegratedCheck {
         List.of("object", "class", "record", "interface", "enum");
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtType<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtType<?>>() {
             @Override
             public void process(CtType<?> ctType) {
                 if (ctType.isImplicit() || !ctType.getPosition().isValidPosition()) return;
@@ -7,8 +7,11 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import de.firemage.autograder.core.integrated.TypeUtil;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtType;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.AVOID_INNER_CLASSES })
 public class AvoidInnerClasses extends IntegratedCheck {
     private void checkCtType(CtType<?> ctType) {
@@ -23,8 +26,8 @@ public class AvoidInnerClasses extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtType<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtType<?>>() {
             @Override
             public void process(CtType<?> ctType) {
                 checkCtType(ctType);
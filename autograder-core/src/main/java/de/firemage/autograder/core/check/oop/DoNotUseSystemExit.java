@@ -6,9 +6,12 @@ import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.code.CtInvocation;
 import spoon.reflect.code.CtTypeAccess;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.DO_NOT_USE_SYSTEM_EXIT })
 public class DoNotUseSystemExit extends IntegratedCheck {
     private boolean hasInvokedSystemExit(CtInvocation<?> ctInvocation) {
@@ -33,8 +36,8 @@ public class DoNotUseSystemExit extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtInvocation<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtInvocation<?>>() {
             @Override
             public void process(CtInvocation<?> ctInvocation) {
                 checkCtInvocation(ctInvocation);
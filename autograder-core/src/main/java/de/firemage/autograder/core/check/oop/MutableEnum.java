@@ -7,10 +7,13 @@ import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.VariableUtil;
 import de.firemage.autograder.core.integrated.StaticAnalysis;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtEnum;
 import spoon.reflect.declaration.CtField;
 import spoon.reflect.declaration.CtType;
 
+import java.util.List;
+
 @ExecutableCheck(reportedProblems = { ProblemType.MUTABLE_ENUM })
 public class MutableEnum extends IntegratedCheck {
     /**
@@ -31,8 +34,8 @@ public class MutableEnum extends IntegratedCheck {
     }
 
     @Override
-    protected void check(StaticAnalysis staticAnalysis) {
-        staticAnalysis.processWith(new AbstractProcessor<CtEnum<?>>() {
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of(new AbstractProcessor<CtEnum<?>>() {
             @Override
             public void process(CtEnum<?> ctEnum) {
                 if (isMutable(ctEnum)) {
@@ -64,7 +64,7 @@ public class DuplicateCode extends IntegratedCheck {
                     return;
                 }
 
-                for (var duplicate : DuplicateCodeFinder.findDuplicates(ctStatement)) {
+                for (var duplicate : DuplicateCodeFinder.findDuplicates(ctStatement, MINIMUM_DUPLICATE_STATEMENT_SIZE)) {
                     if (isAnyStatementIn(duplicate, reported) || !isConsideredDuplicateCode(duplicate.left(), duplicate.right())) {
                         continue;
                     }
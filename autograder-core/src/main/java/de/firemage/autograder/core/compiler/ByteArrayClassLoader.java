@@ -0,0 +1,51 @@
+package de.firemage.autograder.core.compiler;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * A class loader that defines classes from bytecode held in memory, for example the classes of a
+ * {@link CompilationResult}.
+ */
+public final class ByteArrayClassLoader extends ClassLoader {
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final Map<String, byte[]> classFiles;
+
+    /**
+     * Creates a new class loader.
+     *
+     * @param classFiles a map from the binary name of each class to its bytecode
+     * @param parent the parent class loader, which is asked first
+     */
+    public ByteArrayClassLoader(Map<String, byte[]> classFiles, ClassLoader parent) {
+        super(parent);
+        this.classFiles = classFiles;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        byte[] bytes = this.classFiles.get(name);
+        if (bytes == null) {
+            throw new ClassNotFoundException(name);
+        }
+
+        return this.defineClass(name, bytes, 0, bytes.length);
+    }
+
+    @Override
+    public InputStream getResourceAsStream(String name) {
+        if (name.endsWith(".class")) {
+            String className = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+            byte[] bytes = this.classFiles.get(className);
+            if (bytes != null) {
+                return new ByteArrayInputStream(bytes);
+            }
+        }
+
+        return super.getResourceAsStream(name);
+    }
+}
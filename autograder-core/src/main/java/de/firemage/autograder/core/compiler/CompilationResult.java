@@ -1,8 +1,22 @@
 package de.firemage.autograder.core.compiler;
 
-import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
-public record CompilationResult(Path jar, List<CompilationDiagnostic> diagnostics) {
-
+/**
+ * The result of compiling a submission.
+ *
+ * @param classFiles a map from the binary name of each compiled class to its bytecode
+ * @param diagnostics the diagnostics reported by the compiler
+ */
+public record CompilationResult(Map<String, byte[]> classFiles, List<CompilationDiagnostic> diagnostics) {
+    /**
+     * Creates a class loader that can load the compiled classes.
+     *
+     * @param parent the parent class loader
+     * @return a new class loader
+     */
+    public ClassLoader createClassLoader(ClassLoader parent) {
+        return new ByteArrayClassLoader(this.classFiles, parent);
+    }
 }
@@ -0,0 +1,59 @@
+package de.firemage.autograder.core.compiler;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A file manager that keeps the class files emitted by the compiler in memory instead of writing them to disk.
+ */
+class InMemoryClassFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+    private final Map<String, byte[]> classFiles;
+
+    InMemoryClassFileManager(StandardJavaFileManager fileManager) {
+        super(fileManager);
+        // sorted, so the order of the classes does not depend on the order in which javac emits them
+        this.classFiles = new TreeMap<>();
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+        return new ClassFileObject(className);
+    }
+
+    /**
+     * Returns the compiled classes.
+     *
+     * @return an unmodifiable map from the binary name of each class to its bytecode
+     */
+    Map<String, byte[]> classFiles() {
+        return Collections.unmodifiableMap(this.classFiles);
+    }
+
+    private final class ClassFileObject extends SimpleJavaFileObject {
+        private final String className;
+
+        private ClassFileObject(String className) {
+            super(URI.create("memory:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+            this.className = className;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    classFiles.put(className, this.toByteArray());
+                }
+            };
+        }
+    }
+}
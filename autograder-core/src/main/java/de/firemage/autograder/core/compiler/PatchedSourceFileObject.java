@@ -0,0 +1,31 @@
+package de.firemage.autograder.core.compiler;
+
+import javax.tools.ForwardingJavaFileObject;
+import javax.tools.JavaFileObject;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * A source file whose content has been replaced in memory.
+ * <p>
+ * Everything else (uri, name, kind, ...) is forwarded to the original file, so diagnostics
+ * reported for this file can be mapped back to the original compilation unit.
+ */
+final class PatchedSourceFileObject extends ForwardingJavaFileObject<JavaFileObject> {
+    private final String content;
+
+    PatchedSourceFileObject(JavaFileObject original, String content) {
+        super(original);
+        this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return this.content;
+    }
+
+    @Override
+    public Reader openReader(boolean ignoreEncodingErrors) {
+        return new StringReader(this.content);
+    }
+}
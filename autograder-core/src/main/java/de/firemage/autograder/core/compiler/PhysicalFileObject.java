@@ -17,6 +17,7 @@ import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
@@ -25,11 +26,27 @@ public class PhysicalFileObject implements CompilationUnit, JavaFileObject {
     private final File file;
     private final SourcePath path;
     private final SerializableCharset charset;
+    // the content of the file if it has already been read, it is sent along when the file is serialized
+    private final byte[] content;
+    private transient String text;
 
     public PhysicalFileObject(File file, Charset charset, SourcePath path) {
+        this(file, charset, path, null);
+    }
+
+    /**
+     * Creates a file object for a file that has already been read, so it is not read again.
+     *
+     * @param file the file
+     * @param charset the charset with which the content is decoded
+     * @param path the path relative to the root of the source
+     * @param content the content of the file or null if it should be read when it is needed
+     */
+    public PhysicalFileObject(File file, Charset charset, SourcePath path, byte[] content) {
         this.file = file;
         this.path = path;
         this.charset = new SerializableCharset(charset);
+        this.content = content;
     }
 
     @Override
@@ -40,7 +57,18 @@ public class PhysicalFileObject implements CompilationUnit, JavaFileObject {
 
     @Override
     public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
-        return Files.readString(this.file.toPath(), this.charset);
+        if (this.content == null) {
+            return Files.readString(this.file.toPath(), this.charset);
+        }
+
+        String result = this.text;
+        if (result == null) {
+            // like Files#readString, malformed input is reported instead of being replaced
+            result = this.charset.newDecoder().decode(ByteBuffer.wrap(this.content)).toString();
+            this.text = result;
+        }
+
+        return result;
     }
 
     @Override
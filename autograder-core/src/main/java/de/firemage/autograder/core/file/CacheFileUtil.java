@@ -0,0 +1,87 @@
+package de.firemage.autograder.core.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Helpers for files that are reused between runs, like the cached models, the cached PMD violations and the
+ * clone index.
+ */
+public final class CacheFileUtil {
+    private CacheFileUtil() {
+    }
+
+    /**
+     * Creates the digest that is used to compute the keys of the cached files.
+     *
+     * @return a new SHA-256 digest
+     */
+    public static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported", exception);
+        }
+    }
+
+    /**
+     * Adds the given value to the digest.
+     *
+     * @param digest the digest to update
+     * @param value the value to add
+     */
+    public static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // prefix the length, so that the boundaries between the values are unambiguous
+        digest.update(HexFormat.of().toHexDigits(bytes.length).getBytes(StandardCharsets.US_ASCII));
+        digest.update(bytes);
+    }
+
+    /**
+     * Completes the digest and returns it as a hex string, which can be used as a file name.
+     *
+     * @param digest the digest to complete
+     * @return the digest as a hex string
+     */
+    public static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Writes the given file, overwriting it if it exists.
+     * <p>
+     * The content is written to a temporary file first, which is then moved to the file. A concurrent reader
+     * therefore never sees a partially written file, and an interrupted write keeps the previous file.
+     *
+     * @param file the file to write, the missing parent directories are created
+     * @param writer writes the content to the stream, which is closed afterward
+     * @throws IOException if the file could not be written
+     */
+    public static void writeAtomically(Path file, ContentWriter writer) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                writer.write(outputStream);
+            }
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
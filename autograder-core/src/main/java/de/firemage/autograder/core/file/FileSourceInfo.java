@@ -8,11 +8,13 @@ import org.mozilla.universalchardet.UniversalDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import spoon.compiler.SpoonResource;
-import spoon.support.compiler.FileSystemFolder;
+import spoon.support.compiler.VirtualFile;
+import spoon.support.compiler.VirtualFolder;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -26,12 +28,15 @@ import java.util.stream.Stream;
 
 public class FileSourceInfo implements SourceInfo, Serializable {
     private static final Logger LOG = LoggerFactory.getLogger(FileSourceInfo.class);
+    private static final int DETECTION_CHUNK_SIZE = 4096;
 
     private final File file;
     private final JavaVersion version;
     private final List<CompilationUnit> compilationUnits;
+    // the store is not serialized, because it only caches what can be read from the compilation units
+    private transient SourceStore sources;
 
-    FileSourceInfo(Path path, JavaVersion version) throws IOException {
+    public FileSourceInfo(Path path, JavaVersion version) throws IOException {
         if (!path.toFile().isDirectory()) {
             throw new IllegalArgumentException("The file must be a directory");
         }
@@ -47,14 +52,24 @@ public class FileSourceInfo implements SourceInfo, Serializable {
                     Path root = this.path();
                     Path relative = root.relativize(file.toPath());
                     SourcePath sourcePath = SourcePath.of(relative);
-                    SerializableCharset charset = this.detectCharset(file, sourcePath);
-                    return new PhysicalFileObject(file, charset, sourcePath);
+                    // the file is only read once, all later uses of the content are served from this buffer
+                    byte[] content = readContent(file, sourcePath);
+                    SerializableCharset charset = this.detectCharset(content);
+                    return new PhysicalFileObject(file, charset, sourcePath, content);
                 })
                 .collect(Collectors.toList()); // toList does not work here
         }
     }
 
-    private SerializableCharset detectCharset(File file, SourcePath sourcePath) {
+    private static byte[] readContent(File file, SourcePath sourcePath) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read file '%s'".formatted(sourcePath), e);
+        }
+    }
+
+    private SerializableCharset detectCharset(byte[] content) {
         // There is an issue where it detects TIS-620 for a file that contains a '§', even though it is UTF-8.
         // See https://github.com/Feuermagier/autograder/issues/368.
         //
@@ -70,14 +85,17 @@ public class FileSourceInfo implements SourceInfo, Serializable {
             Charset.forName("windows-1252")
         );
 
-        try {
-            return new SerializableCharset(Optional.ofNullable(UniversalDetector.detectCharset(file))
-                .map(Charset::forName)
-                .filter(supportedCharsets::contains)
-                .orElse(StandardCharsets.UTF_8));
-        } catch (IOException e) {
-            throw new IllegalArgumentException("Failed to read file '%s' for detecting charset".formatted(sourcePath), e);
+        // feed the content in chunks like UniversalDetector#detectCharset(File), so the result is the same
+        UniversalDetector detector = new UniversalDetector();
+        for (int offset = 0; offset < content.length && !detector.isDone(); offset += DETECTION_CHUNK_SIZE) {
+            detector.handleData(content, offset, Math.min(DETECTION_CHUNK_SIZE, content.length - offset));
         }
+        detector.dataEnd();
+
+        return new SerializableCharset(Optional.ofNullable(detector.getDetectedCharset())
+            .map(Charset::forName)
+            .filter(supportedCharsets::contains)
+            .orElse(StandardCharsets.UTF_8));
     }
 
     @Override
@@ -91,6 +109,15 @@ public class FileSourceInfo implements SourceInfo, Serializable {
 
     }
 
+    @Override
+    public synchronized SourceStore sources() {
+        if (this.sources == null) {
+            this.sources = new SourceStore(this.compilationUnits);
+        }
+
+        return this.sources;
+    }
+
     @Override
     public SourceInfo copyTo(Path target) throws IOException {
         // HACK: this filters out symbolic links (we had one submission with a symlink to itself, which caused a crash...)
@@ -101,7 +128,18 @@ public class FileSourceInfo implements SourceInfo, Serializable {
 
     @Override
     public SpoonResource getSpoonResource() {
-        return new FileSystemFolder(this.file);
+        // spoon gets the already decoded content instead of reading the files again
+        VirtualFolder result = new VirtualFolder();
+        for (CompilationUnit compilationUnit : this.compilationUnits) {
+            String path = this.path().resolve(compilationUnit.path().toPath()).toString();
+            try {
+                result.addFile(new VirtualFile(this.sources().text(compilationUnit.path()), path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read file '%s'".formatted(compilationUnit.path()), e);
+            }
+        }
+
+        return result;
     }
 
     @Override
@@ -44,21 +44,17 @@ public interface SourceInfo extends Serializable {
         return this.path().getFileName().toString();
     }
 
-    default CompilationUnit getCompilationUnit(SourcePath path) {
-        Iterable<CompilationUnit> compilationUnits;
-        try {
-            compilationUnits = this.compilationUnits();
-        } catch (IOException exception) {
-            throw new IllegalStateException("Could not read compilation units", exception);
-        }
-
-        for (CompilationUnit compilationUnit : compilationUnits) {
-            if (path.equals(compilationUnit.path())) {
-                return compilationUnit;
-            }
-        }
+    /**
+     * Returns the store through which the compilation units are looked up and read.
+     * <p>
+     * The store is created once per source, so the content of each compilation unit is only read once.
+     *
+     * @return the store of the compilation units
+     */
+    SourceStore sources();
 
-        throw new IllegalStateException("Could not find compilation unit for path '%s'".formatted(path));
+    default CompilationUnit getCompilationUnit(SourcePath path) {
+        return this.sources().compilationUnit(path);
     }
 
     default CompilationUnit getCompilationUnit(Path path) {
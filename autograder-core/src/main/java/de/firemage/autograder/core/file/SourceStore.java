@@ -0,0 +1,71 @@
+package de.firemage.autograder.core.file;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the compilation units of a source by their path and decodes their content at most once.
+ * <p>
+ * Many problems are reported in the same few files, so looking up a compilation unit and reading its content
+ * must not depend on the number of files or be repeated for every problem.
+ */
+public final class SourceStore {
+    private final Map<SourcePath, CompilationUnit> compilationUnits;
+    private final Map<SourcePath, String> texts;
+
+    public SourceStore(Collection<? extends CompilationUnit> compilationUnits) {
+        this.compilationUnits = new HashMap<>();
+        for (CompilationUnit compilationUnit : compilationUnits) {
+            this.compilationUnits.put(compilationUnit.path(), compilationUnit);
+        }
+        this.texts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the compilation unit with the given path.
+     *
+     * @param path the path relative to the root of the source
+     * @return the compilation unit
+     * @throws IllegalStateException if there is no compilation unit with that path
+     */
+    public CompilationUnit compilationUnit(SourcePath path) {
+        CompilationUnit compilationUnit = this.compilationUnits.get(path);
+        if (compilationUnit == null) {
+            throw new IllegalStateException("Could not find compilation unit for path '%s'".formatted(path));
+        }
+
+        return compilationUnit;
+    }
+
+    /**
+     * Returns the content of the compilation unit with the given path, it is only read the first time.
+     *
+     * @param path the path relative to the root of the source
+     * @return the content of the compilation unit
+     * @throws IOException if the content could not be read
+     * @throws IllegalStateException if there is no compilation unit with that path
+     */
+    public String text(SourcePath path) throws IOException {
+        String text = this.texts.get(path);
+        if (text != null) {
+            return text;
+        }
+
+        CompilationUnit compilationUnit = this.compilationUnit(path);
+        try {
+            return this.texts.computeIfAbsent(path, key -> {
+                try {
+                    return compilationUnit.readString();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+}
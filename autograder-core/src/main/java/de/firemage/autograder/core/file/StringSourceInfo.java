@@ -30,6 +30,8 @@ public final class StringSourceInfo implements SourceInfo {
     private static final String VIRTUAL_FOLDER = "virtualSrc";
     private final List<VirtualFileObject> compilationUnits;
     private final JavaVersion version;
+    // the store is not serialized, because it only caches what can be read from the compilation units
+    private transient SourceStore sources;
 
     private StringSourceInfo(JavaVersion version, List<VirtualFileObject> compilationUnits) {
         this.compilationUnits = compilationUnits;
@@ -54,6 +56,15 @@ public final class StringSourceInfo implements SourceInfo {
         return new ArrayList<>(this.compilationUnits);
     }
 
+    @Override
+    public synchronized SourceStore sources() {
+        if (this.sources == null) {
+            this.sources = new SourceStore(this.compilationUnits);
+        }
+
+        return this.sources;
+    }
+
     @Override
     public SourceInfo copyTo(Path target) throws IOException {
         for (CompilationUnit file : this.compilationUnits()) {
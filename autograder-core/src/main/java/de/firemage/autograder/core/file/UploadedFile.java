@@ -4,6 +4,8 @@ import de.firemage.autograder.api.AbstractTempLocation;
 import de.firemage.autograder.api.Translatable;
 import de.firemage.autograder.core.CodeModel;
 import de.firemage.autograder.core.LinterStatus;
+import de.firemage.autograder.core.ModelCache;
+import de.firemage.autograder.core.Profiler;
 import de.firemage.autograder.core.compiler.CompilationFailureException;
 import de.firemage.autograder.core.compiler.CompilationResult;
 import de.firemage.autograder.core.compiler.Compiler;
@@ -25,18 +27,22 @@ public final class UploadedFile implements AutoCloseable {
     private final CompilationResult compilationResult;
     private final ClassLoader classLoader;
     private final AbstractTempLocation tempLocation;
+    private final ModelCache modelCache;
+    private final Profiler profiler;
 
-    private UploadedFile(CodeModel model, SourceInfo source, CompilationResult compilationResult, ClassLoader classLoader, AbstractTempLocation tempLocation) {
+    private UploadedFile(CodeModel model, SourceInfo source, CompilationResult compilationResult, ClassLoader classLoader, AbstractTempLocation tempLocation, ModelCache modelCache, Profiler profiler) {
         this.model = model;
         this.source = source;
         this.compilationResult = compilationResult;
         this.classLoader = classLoader;
         this.tempLocation = tempLocation;
+        this.modelCache = modelCache;
+        this.profiler = profiler;
     }
 
     public UploadedFile copy() {
         try {
-            return UploadedFile.build(this.source, this.tempLocation.createTempDirectory("copy"), unused -> {}, this.classLoader);
+            return UploadedFile.build(this.source, this.tempLocation.createTempDirectory("copy"), unused -> {}, this.classLoader, this.modelCache);
         } catch (IOException | CompilationFailureException exception) {
             throw new IllegalStateException(exception);
         }
@@ -49,7 +55,30 @@ public final class UploadedFile implements AutoCloseable {
         Consumer<Translatable> statusConsumer,
         ClassLoader classLoader
     ) throws IOException, ModelBuildException, CompilationFailureException {
-        return UploadedFile.build(new FileSourceInfo(file, version), tmpLocation, statusConsumer, classLoader);
+        return UploadedFile.build(file, version, tmpLocation, statusConsumer, classLoader, null);
+    }
+
+    public static UploadedFile build(
+        Path file,
+        JavaVersion version,
+        AbstractTempLocation tmpLocation,
+        Consumer<Translatable> statusConsumer,
+        ClassLoader classLoader,
+        ModelCache modelCache
+    ) throws IOException, ModelBuildException, CompilationFailureException {
+        return UploadedFile.build(file, version, tmpLocation, statusConsumer, classLoader, modelCache, Profiler.NONE);
+    }
+
+    public static UploadedFile build(
+        Path file,
+        JavaVersion version,
+        AbstractTempLocation tmpLocation,
+        Consumer<Translatable> statusConsumer,
+        ClassLoader classLoader,
+        ModelCache modelCache,
+        Profiler profiler
+    ) throws IOException, ModelBuildException, CompilationFailureException {
+        return UploadedFile.build(new FileSourceInfo(file, version), tmpLocation, statusConsumer, classLoader, modelCache, profiler);
     }
 
     public static UploadedFile build(
@@ -58,16 +87,53 @@ public final class UploadedFile implements AutoCloseable {
         Consumer<Translatable> statusConsumer,
         ClassLoader classLoader
     ) throws IOException, CompilationFailureException {
-        Compiler compiler = new Compiler(tmpLocation, source.getVersion());
+        return UploadedFile.build(source, tmpLocation, statusConsumer, classLoader, null);
+    }
+
+    public static UploadedFile build(
+        SourceInfo source,
+        AbstractTempLocation tmpLocation,
+        Consumer<Translatable> statusConsumer,
+        ClassLoader classLoader,
+        ModelCache modelCache
+    ) throws IOException, CompilationFailureException {
+        return UploadedFile.build(source, tmpLocation, statusConsumer, classLoader, modelCache, Profiler.NONE);
+    }
+
+    /**
+     * Compiles the given source code and creates the model for it.
+     *
+     * @param source the source code
+     * @param tmpLocation a location for temporary files
+     * @param statusConsumer a consumer that is notified about the progress
+     * @param classLoader the class loader for the dependencies of the source code, might be null
+     * @param modelCache a cache from which the model is restored if possible, might be null
+     * @param profiler the profiler that measures compiling the code, building the model and the later analysis
+     * @return the compiled file or null if the code does not compile
+     * @throws IOException if an I/O error occurs
+     * @throws CompilationFailureException if the compiler failed
+     */
+    public static UploadedFile build(
+        SourceInfo source,
+        AbstractTempLocation tmpLocation,
+        Consumer<Translatable> statusConsumer,
+        ClassLoader classLoader,
+        ModelCache modelCache,
+        Profiler profiler
+    ) throws IOException, CompilationFailureException {
+        Compiler compiler = new Compiler(source.getVersion());
         statusConsumer.accept(LinterStatus.COMPILING.getMessage());
-        Optional<CompilationResult> compilationResult = compiler.compileToJar(source);
+        Optional<CompilationResult> compilationResult;
+        try (Profiler.Phase phase = profiler.start("compile")) {
+            compilationResult = compiler.compile(source);
+        }
         if (compilationResult.isEmpty()) {
             return null;
         }
 
-        var model = CodeModel.buildFor(source, compilationResult.get().jar(), classLoader);
+        var model = CodeModel.buildFor(source, compilationResult.get(), classLoader, modelCache, profiler);
 
-        return new UploadedFile(model, source, compilationResult.get(), classLoader, tmpLocation);
+        return new UploadedFile(model, source, compilationResult.get(), classLoader, tmpLocation, modelCache, profiler);
     }
 
     public SourceInfo getSource() {
@@ -82,9 +148,12 @@ public final class UploadedFile implements AutoCloseable {
         return model;
     }
 
+    public Profiler getProfiler() {
+        return this.profiler;
+    }
+
     @Override
     public void close() throws IOException {
         this.model.close();
-        this.compilationResult.jar().toFile().delete();
     }
 }
@@ -0,0 +1,474 @@
+package de.firemage.autograder.core.integrated;
+
+import de.firemage.autograder.core.file.CacheFileUtil;
+import de.firemage.autograder.core.file.CompilationUnit;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.integrated.structure.StructuralHashCodeVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import spoon.Launcher;
+import spoon.reflect.CtModel;
+import spoon.reflect.code.CtComment;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.code.CtStatementList;
+import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtModule;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An index of the code blocks in many submissions, which finds the blocks that are shared between submissions.
+ * <p>
+ * Every statement list (e.g. a block) of a submission is split into overlapping windows of consecutive statements,
+ * each of which contains at least {@link #minimumSize()} statements. A window is identified by the structural hashes
+ * of its statements (see {@link StructuralHashCodeVisitor#computeNameInsensitiveHashCodes(CtElement, Class)}), so it
+ * does not depend on comments or on the names of local variables and parameters. Renamed fields, methods or types
+ * still result in different windows. The windows are stored in an inverted index from their hash to their occurrences, which means that
+ * adding a submission and finding the submissions that contain a block does not depend on the number of submissions.
+ * <p>
+ * Unlike the {@link DuplicateCodeFinder}, the index does not keep the models of the submissions, so equal hashes are
+ * not verified with the {@link de.firemage.autograder.core.integrated.structure.StructuralEqualsVisitor}.
+ * <p>
+ * The index can be persisted with {@link #save(Path)}, so it can be built incrementally. Submissions whose source
+ * did not change since they have been indexed do not have to be indexed again, see {@link #isUpToDate(String, SourceInfo)}.
+ */
+public final class CloneIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(CloneIndex.class);
+    // must be incremented when the format of the file or the way the windows are hashed changes
+    private static final int FORMAT_VERSION = 2;
+    public static final int DEFAULT_MINIMUM_SIZE = 10;
+
+    private final int minimumSize;
+    private final Map<String, IndexedSubmission> submissions;
+    private final Map<Long, List<Occurrence>> occurrences;
+
+    public CloneIndex(int minimumSize) {
+        if (minimumSize < 1) {
+            throw new IllegalArgumentException("The minimum size must be at least 1");
+        }
+
+        this.minimumSize = minimumSize;
+        this.submissions = new TreeMap<>();
+        this.occurrences = new HashMap<>();
+    }
+
+    /**
+     * Loads the index from the given file.
+     * <p>
+     * If the file does not exist, can not be read or has been written by an incompatible version or with a
+     * different minimum size, an empty index is returned.
+     *
+     * @param file the file in which the index has been saved
+     * @param minimumSize the minimum number of statements in an indexed block
+     * @return the loaded index
+     */
+    public static CloneIndex load(Path file, int minimumSize) {
+        CloneIndex index = new CloneIndex(minimumSize);
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (input.readInt() != FORMAT_VERSION || !input.readUTF().equals(spoonVersion()) || input.readInt() != minimumSize) {
+                LOG.info("The clone index '{}' is outdated, it will be rebuilt", file);
+                return index;
+            }
+
+            int numberOfSubmissions = input.readInt();
+            for (int i = 0; i < numberOfSubmissions; i++) {
+                String name = input.readUTF();
+                String digest = input.readUTF();
+
+                List<String> files = new ArrayList<>();
+                int numberOfFiles = input.readInt();
+                for (int j = 0; j < numberOfFiles; j++) {
+                    files.add(input.readUTF());
+                }
+
+                List<Window> windows = new ArrayList<>();
+                int numberOfWindows = input.readInt();
+                for (int j = 0; j < numberOfWindows; j++) {
+                    long hash = input.readLong();
+                    String path = files.get(input.readInt());
+                    int startLine = input.readInt();
+                    int endLine = input.readInt();
+                    int size = input.readInt();
+                    windows.add(new Window(hash, new Occurrence(name, path, startLine, endLine), size));
+                }
+
+                index.put(new IndexedSubmission(name, digest, windows));
+            }
+        } catch (NoSuchFileException exception) {
+            return index;
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("Failed to read the clone index '{}', it will be rebuilt", file, exception);
+            return new CloneIndex(minimumSize);
+        }
+
+        return index;
+    }
+
+    /**
+     * Saves the index to the given file, overwriting it if it exists.
+     *
+     * @param file the file to write
+     * @throws IOException if the file could not be written
+     */
+    public void save(Path file) throws IOException {
+        CacheFileUtil.writeAtomically(file, outputStream -> {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)))) {
+                output.writeInt(FORMAT_VERSION);
+                output.writeUTF(spoonVersion());
+                output.writeInt(this.minimumSize);
+
+                output.writeInt(this.submissions.size());
+                for (IndexedSubmission submission : this.submissions.values()) {
+                    output.writeUTF(submission.name());
+                    output.writeUTF(submission.digest());
+
+                    // most windows are in the same few files, so the paths are only written once
+                    Map<String, Integer> files = new HashMap<>();
+                    List<String> paths = submission.windows().stream().map(window -> window.occurrence().file()).distinct().toList();
+                    output.writeInt(paths.size());
+                    for (String path : paths) {
+                        files.put(path, files.size());
+                        output.writeUTF(path);
+                    }
+
+                    output.writeInt(submission.windows().size());
+                    for (Window window : submission.windows()) {
+                        output.writeLong(window.hash());
+                        output.writeInt(files.get(window.occurrence().file()));
+                        output.writeInt(window.occurrence().startLine());
+                        output.writeInt(window.occurrence().endLine());
+                        output.writeInt(window.size());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the minimum number of statements in an indexed block, see {@link DuplicateCodeFinder.DuplicateCode#size()}.
+     *
+     * @return the minimum number of statements
+     */
+    public int minimumSize() {
+        return this.minimumSize;
+    }
+
+    /**
+     * Returns the names of all indexed submissions.
+     *
+     * @return the names in alphabetical order
+     */
+    public Set<String> submissions() {
+        return Collections.unmodifiableSet(this.submissions.keySet());
+    }
+
+    /**
+     * Checks whether the submission with the given name has been indexed from the same source code.
+     *
+     * @param name the name of the submission
+     * @param source the current source code of the submission
+     * @return true if the submission does not have to be indexed again
+     * @throws IOException if the source could not be read
+     */
+    public boolean isUpToDate(String name, SourceInfo source) throws IOException {
+        IndexedSubmission submission = this.submissions.get(name);
+        return submission != null && submission.digest().equals(computeDigest(source));
+    }
+
+    /**
+     * Adds the code blocks of a submission to the index, replacing the blocks of a previous version of it.
+     *
+     * @param name the unique name of the submission
+     * @param source the source code of the submission
+     * @param model the model that has been built from the source code
+     * @throws IOException if the source could not be read
+     */
+    public void add(String name, SourceInfo source, CtModel model) throws IOException {
+        List<Window> windows = new ArrayList<>();
+        for (CtModule module : model.getAllModules()) {
+            Map<CtStatement, Long> hashes = StructuralHashCodeVisitor.computeNameInsensitiveHashCodes(module, CtStatement.class);
+            Map<CtStatement, Integer> sizes = DuplicateCodeFinder.computeStatementCounts(module);
+            Map<File, String> paths = new HashMap<>();
+
+            for (CtStatementList ctStatementList : module.getElements(new TypeFilter<>(CtStatementList.class))) {
+                List<CtStatement> statements = ctStatementList.getStatements()
+                    .stream()
+                    .filter(CloneIndex::isIndexedStatement)
+                    .toList();
+
+                for (int start = 0; start < statements.size(); start++) {
+                    long hash = 1;
+                    int size = 0;
+                    int end = start;
+                    while (end < statements.size() && size < this.minimumSize) {
+                        CtStatement ctStatement = statements.get(end);
+                        hash = 31 * hash + hashes.get(ctStatement);
+                        size += sizes.get(ctStatement);
+                        end += 1;
+                    }
+
+                    if (size < this.minimumSize) {
+                        // the following windows are even smaller
+                        break;
+                    }
+
+                    SourcePosition first = statements.get(start).getPosition();
+                    SourcePosition last = statements.get(end - 1).getPosition();
+                    String path = paths.computeIfAbsent(
+                        fileOf(statements.get(start)),
+                        file -> source.getCompilationUnit(file.toPath()).path().toString()
+                    );
+                    windows.add(new Window(
+                        31 * hash + (end - start),
+                        new Occurrence(name, path, first.getLine(), last.getEndLine()),
+                        size
+                    ));
+                }
+            }
+        }
+
+        this.remove(name);
+        this.put(new IndexedSubmission(name, computeDigest(source), windows));
+    }
+
+    /**
+     * Removes the submission with the given name from the index.
+     *
+     * @param name the name of the submission
+     */
+    public void remove(String name) {
+        IndexedSubmission submission = this.submissions.remove(name);
+        if (submission == null) {
+            return;
+        }
+
+        for (Window window : submission.windows()) {
+            List<Occurrence> list = this.occurrences.get(window.hash());
+            if (list == null) {
+                continue;
+            }
+
+            list.removeIf(occurrence -> occurrence.submission().equals(name));
+            if (list.isEmpty()) {
+                this.occurrences.remove(window.hash());
+            }
+        }
+    }
+
+    /**
+     * Finds the names of the submissions that contain the same block as the given one.
+     *
+     * @param block consecutive statements of a statement list, which form a block of the indexed size
+     * @return the names of the submissions in alphabetical order, which might include the submission of the block
+     */
+    public Set<String> findSubmissionsContaining(List<? extends CtStatement> block) {
+        long hash = 1;
+        for (CtStatement ctStatement : block) {
+            hash = 31 * hash + StructuralHashCodeVisitor.computeNameInsensitiveHash(ctStatement);
+        }
+        hash = 31 * hash + block.size();
+
+        Set<String> result = new LinkedHashSet<>();
+        this.occurrences.getOrDefault(hash, List.of())
+            .stream()
+            .map(Occurrence::submission)
+            .sorted()
+            .forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Finds the blocks that appear in multiple submissions.
+     * <p>
+     * Overlapping blocks that are shared by the same submissions are merged into one block.
+     * Code that is shared by many submissions is probably part of the assignment, so the maximum number of
+     * submissions can be used to ignore it.
+     *
+     * @param minimumSubmissions the minimum number of submissions that must contain a block, at least 2
+     * @param maximumSubmissions the maximum number of submissions that may contain a block
+     * @return the shared blocks, those shared by the fewest submissions and with the most statements come first
+     */
+    public List<SharedBlock> findSharedBlocks(int minimumSubmissions, int maximumSubmissions) {
+        if (minimumSubmissions < 2) {
+            throw new IllegalArgumentException("A block must be shared by at least 2 submissions");
+        }
+
+        // blocks whose occurrences are in the same files of the same submissions, those might be merged
+        Map<List<List<String>>, List<SharedBlock>> candidates = new HashMap<>();
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (IndexedSubmission submission : this.submissions.values()) {
+            for (Window window : submission.windows()) {
+                sizes.putIfAbsent(window.hash(), window.size());
+            }
+        }
+
+        for (Map.Entry<Long, List<Occurrence>> entry : this.occurrences.entrySet()) {
+            List<Occurrence> list = entry.getValue();
+            long numberOfSubmissions = list.stream().map(Occurrence::submission).distinct().count();
+            if (numberOfSubmissions < minimumSubmissions || numberOfSubmissions > maximumSubmissions) {
+                continue;
+            }
+
+            List<Occurrence> sorted = list.stream().sorted(Occurrence.COMPARATOR).toList();
+            List<List<String>> key = sorted.stream().map(occurrence -> List.of(occurrence.submission(), occurrence.file())).toList();
+            candidates.computeIfAbsent(key, k -> new ArrayList<>()).add(new SharedBlock(sizes.get(entry.getKey()), sorted));
+        }
+
+        List<SharedBlock> result = new ArrayList<>();
+        for (List<SharedBlock> blocks : candidates.values()) {
+            blocks.sort(Comparator.comparingInt((SharedBlock block) -> block.occurrences().get(0).startLine())
+                .thenComparingInt(block -> block.occurrences().get(0).endLine()));
+
+            SharedBlock current = null;
+            for (SharedBlock block : blocks) {
+                if (current != null && current.overlaps(block)) {
+                    current = current.merge(block);
+                } else {
+                    if (current != null) {
+                        result.add(current);
+                    }
+                    current = block;
+                }
+            }
+
+            result.add(current);
+        }
+
+        result.sort(Comparator.comparingLong((SharedBlock block) -> block.submissions().size())
+            .thenComparing(Comparator.comparingInt(SharedBlock::size).reversed())
+            .thenComparing(block -> block.occurrences().get(0), Occurrence.COMPARATOR));
+        return result;
+    }
+
+    private void put(IndexedSubmission submission) {
+        this.submissions.put(submission.name(), submission);
+        for (Window window : submission.windows()) {
+            this.occurrences.computeIfAbsent(window.hash(), key -> new ArrayList<>()).add(window.occurrence());
+        }
+    }
+
+    private static boolean isIndexedStatement(CtStatement ctStatement) {
+        return !(ctStatement instanceof CtComment)
+            && !ctStatement.isImplicit()
+            && ctStatement.getPosition().isValidPosition();
+    }
+
+    private static File fileOf(CtStatement ctStatement) {
+        File file = ctStatement.getPosition().getFile();
+        if (file == null) {
+            file = ctStatement.getParent(CtType.class).getPosition().getFile();
+        }
+
+        return file;
+    }
+
+    private static String spoonVersion() {
+        return String.valueOf(Launcher.class.getPackage().getImplementationVersion());
+    }
+
+    private static String computeDigest(SourceInfo source) throws IOException {
+        MessageDigest digest = CacheFileUtil.createDigest();
+
+        var compilationUnits = source.compilationUnits()
+            .stream()
+            .sorted(Comparator.comparing(compilationUnit -> compilationUnit.path().toString()))
+            .toList();
+        for (CompilationUnit compilationUnit : compilationUnits) {
+            CacheFileUtil.update(digest, compilationUnit.path().toString());
+            CacheFileUtil.update(digest, compilationUnit.readString());
+        }
+
+        return CacheFileUtil.toHex(digest);
+    }
+
+    /**
+     * Where a block has been found.
+     *
+     * @param submission the name of the submission
+     * @param file the path of the file relative to the source root of the submission
+     * @param startLine the first line of the block
+     * @param endLine the last line of the block
+     */
+    public record Occurrence(String submission, String file, int startLine, int endLine) {
+        private static final Comparator<Occurrence> COMPARATOR = Comparator.comparing(Occurrence::submission)
+            .thenComparing(Occurrence::file)
+            .thenComparingInt(Occurrence::startLine)
+            .thenComparingInt(Occurrence::endLine);
+    }
+
+    /**
+     * A block that is shared by multiple submissions.
+     *
+     * @param size the number of statements in the largest of the merged blocks
+     * @param occurrences where the block has been found, sorted by submission and file
+     */
+    public record SharedBlock(int size, List<Occurrence> occurrences) {
+        public Set<String> submissions() {
+            Set<String> result = new LinkedHashSet<>();
+            for (Occurrence occurrence : this.occurrences) {
+                result.add(occurrence.submission());
+            }
+            return result;
+        }
+
+        private boolean overlaps(SharedBlock other) {
+            for (int i = 0; i < this.occurrences.size(); i++) {
+                if (other.occurrences.get(i).startLine() > this.occurrences.get(i).endLine()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private SharedBlock merge(SharedBlock other) {
+            List<Occurrence> merged = new ArrayList<>();
+            for (int i = 0; i < this.occurrences.size(); i++) {
+                Occurrence occurrence = this.occurrences.get(i);
+                merged.add(new Occurrence(
+                    occurrence.submission(),
+                    occurrence.file(),
+                    Math.min(occurrence.startLine(), other.occurrences.get(i).startLine()),
+                    Math.max(occurrence.endLine(), other.occurrences.get(i).endLine())
+                ));
+            }
+
+            return new SharedBlock(Math.max(this.size, other.size), merged);
+        }
+    }
+
+    private record Window(long hash, Occurrence occurrence, int size) {
+    }
+
+    private record IndexedSubmission(String name, String digest, List<Window> windows) {
+        private IndexedSubmission {
+            Objects.requireNonNull(name);
+            windows = List.copyOf(windows);
+        }
+    }
+}
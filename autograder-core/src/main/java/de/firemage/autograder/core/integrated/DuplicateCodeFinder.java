@@ -2,36 +2,67 @@ package de.firemage.autograder.core.integrated;
 
 import de.firemage.autograder.core.integrated.structure.StructuralElement;
 import de.firemage.autograder.core.integrated.structure.StructuralEqualsVisitor;
+import de.firemage.autograder.core.integrated.structure.StructuralHashCodeVisitor;
 import spoon.processing.AbstractProcessor;
 import spoon.processing.FactoryAccessor;
 import spoon.reflect.CtModel;
 import spoon.reflect.code.CtComment;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.code.CtStatementList;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtModule;
+import spoon.reflect.visitor.CtScanner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.StreamSupport;
 
+/**
+ * Finds statements that are structurally equal to a given statement and the code blocks that start with them.
+ * <p>
+ * Every statement list (e.g. a block) in the model is indexed as a sequence of structural hashes. A duplicate code
+ * block is then extended by comparing the hashes of the following statements, and the number of statements in it is
+ * looked up from prefix sums. Only the blocks that are large enough are compared structurally.
+ */
 public final class DuplicateCodeFinder {
     private static final String METADATA_KEY = "autograder_duplicate_code_uses";
     private final Map<StructuralElement<CtStatement>, List<CtStatement>> occurrences;
+    // the structural hashes of all statements in the model, computed bottom-up in a single pass
+    private final Map<CtStatement, Long> structuralHashes;
+    // the number of statements in each statement, see DuplicateCode#size
+    private final Map<CtStatement, Integer> statementCounts;
+    // where the statements are in their statement list
+    private final Map<CtStatement, Position> positions;
 
     private DuplicateCodeFinder(CtModel model) {
         this.occurrences = new HashMap<>();
+        this.structuralHashes = new IdentityHashMap<>();
+        this.statementCounts = new IdentityHashMap<>();
+        this.positions = new IdentityHashMap<>();
+        for (CtModule module : model.getAllModules()) {
+            this.structuralHashes.putAll(StructuralHashCodeVisitor.computeHashCodes(module, CtStatement.class));
+            this.statementCounts.putAll(computeStatementCounts(module));
+        }
+
         model.processWith(new AbstractProcessor<CtStatement>() {
             @Override
             public void process(CtStatement ctStatement) {
+                if (ctStatement instanceof CtStatementList ctStatementList) {
+                    DuplicateCodeFinder.this.index(ctStatementList);
+                }
+
                 if (ctStatement.isImplicit() || !ctStatement.getPosition().isValidPosition()) {
                     return;
                 }
 
                 DuplicateCodeFinder.this.occurrences.computeIfAbsent(
-                    new StructuralElement<>(ctStatement),
+                    DuplicateCodeFinder.this.toStructuralElement(ctStatement),
                     key -> new ArrayList<>()
                 ).add(ctStatement);
             }
@@ -72,8 +103,113 @@ public final class DuplicateCodeFinder {
         return uses;
     }
 
+    private void index(CtStatementList ctStatementList) {
+        StatementSequence sequence = new StatementSequence(ctStatementList.getStatements());
+        for (int i = 0; i < sequence.statements.size(); i++) {
+            CtStatement ctStatement = sequence.statements.get(i);
+            sequence.hashes[i] = this.structuralHashOf(ctStatement);
+            sequence.sizes[i + 1] = sequence.sizes[i] + this.statementCountOf(ctStatement);
+            this.positions.put(ctStatement, new Position(sequence, i));
+        }
+    }
+
+    /**
+     * Counts the statements in the given element and all statements in it, see {@link DuplicateCode#size()}.
+     *
+     * @param root the element to start with
+     * @return the number of statements in each statement, compared by identity
+     */
+    static Map<CtStatement, Integer> computeStatementCounts(CtElement root) {
+        Map<CtStatement, Integer> counts = new IdentityHashMap<>();
+        new StatementCounter(counts).scan(root);
+        return counts;
+    }
+
+    private long structuralHashOf(CtStatement ctStatement) {
+        Long structuralHash = this.structuralHashes.get(ctStatement);
+        if (structuralHash == null) {
+            // the statement has been created after the model was built
+            return StructuralHashCodeVisitor.computeStructuralHash(ctStatement);
+        }
+
+        return structuralHash;
+    }
+
+    private int statementCountOf(CtStatement ctStatement) {
+        Integer count = this.statementCounts.get(ctStatement);
+        if (count == null) {
+            return DuplicateCode.countStatements(ctStatement);
+        }
+
+        return count;
+    }
+
+    private StructuralElement<CtStatement> toStructuralElement(CtStatement statement) {
+        return new StructuralElement<>(statement, this.structuralHashOf(statement));
+    }
+
     private List<CtStatement> findDuplicateStatements(CtStatement statement) {
-        return Collections.unmodifiableList(this.occurrences.get(new StructuralElement<>(statement)));
+        return Collections.unmodifiableList(this.occurrences.getOrDefault(this.toStructuralElement(statement), List.of()));
+    }
+
+    /**
+     * Returns the number of statements that follow the given ones and have the same structural hash.
+     */
+    private int countMatchingNextStatements(CtStatement left, CtStatement right) {
+        Position leftPosition = this.positions.get(left);
+        Position rightPosition = this.positions.get(right);
+        if (leftPosition == null || rightPosition == null) {
+            return 0;
+        }
+
+        long[] leftHashes = leftPosition.sequence().hashes;
+        long[] rightHashes = rightPosition.sequence().hashes;
+        int count = 0;
+        for (int i = leftPosition.index() + 1, j = rightPosition.index() + 1; i < leftHashes.length && j < rightHashes.length; i++, j++) {
+            if (leftHashes[i] != rightHashes[j]) {
+                break;
+            }
+            count += 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the number of statements in the given statement and the following ones.
+     */
+    private int sizeOf(CtStatement start, int numberOfNextStatements) {
+        Position position = this.positions.get(start);
+        if (position == null) {
+            return this.statementCountOf(start);
+        }
+
+        int[] sizes = position.sequence().sizes;
+        return sizes[position.index() + 1 + numberOfNextStatements] - sizes[position.index()];
+    }
+
+    private DuplicateCode extend(CtStatement left, CtStatement right, int numberOfNextStatements) {
+        List<CtStatement> leftCode = new ArrayList<>(List.of(left));
+        List<CtStatement> rightCode = new ArrayList<>(List.of(right));
+
+        if (numberOfNextStatements > 0) {
+            Position leftPosition = this.positions.get(left);
+            Position rightPosition = this.positions.get(right);
+            for (int k = 1; k <= numberOfNextStatements; k++) {
+                CtStatement nextLeft = leftPosition.sequence().statements.get(leftPosition.index() + k);
+                CtStatement nextRight = rightPosition.sequence().statements.get(rightPosition.index() + k);
+
+                // the hashes match, but they might collide
+                if (!StructuralEqualsVisitor.equals(nextLeft, nextRight)) {
+                    break;
+                }
+
+                leftCode.add(nextLeft);
+                rightCode.add(nextRight);
+            }
+        }
+
+        return new DuplicateCode(leftCode, rightCode);
     }
 
     private static <K, V> Iterable<Map.Entry<K, V>> zip(Iterable<K> keys, Iterable<V> values) {
@@ -95,25 +231,36 @@ public final class DuplicateCodeFinder {
 
     public record DuplicateCode(List<CtStatement> left, List<CtStatement> right) {
         public int size() {
-            return this.left.stream().map(DuplicateCode::countStatements).mapToInt(Integer::intValue).sum();
+            return this.left.stream().map(DuplicateCode::lookupStatementCount).mapToInt(Integer::intValue).sum();
         }
 
-        private static int countStatements(CtStatement ctStatement) {
-            int count = ctStatement.getElements(ctElement -> ctElement instanceof CtStatement
+        private static boolean isCountedStatement(CtElement ctElement) {
+            return ctElement instanceof CtStatement
                 && !(ctElement instanceof CtComment)
                 && !(ctElement instanceof CtStatementList)
                 && ctElement.getPosition().isValidPosition()
-                && !ctElement.isImplicit()
-            ).size();
+                && !ctElement.isImplicit();
+        }
+
+        private static int countStatements(CtStatement ctStatement) {
+            int count = ctStatement.getElements(DuplicateCode::isCountedStatement).size();
 
             return Math.max(count, 1);
         }
 
+        private static int lookupStatementCount(CtStatement ctStatement) {
+            var finder = (DuplicateCodeFinder) ElementUtil.getRootPackage(ctStatement).getMetadata(METADATA_KEY);
+            if (finder == null) {
+                return countStatements(ctStatement);
+            }
+
+            return finder.statementCountOf(ctStatement);
+        }
+
         public boolean isMoreThanOrEqualTo(int threshold) {
             int size = 0;
-            // TODO: this could be optimized in the future by stopping getElements when the threshold is reached
             for (var statement : this.left) {
-                size += countStatements(statement);
+                size += lookupStatementCount(statement);
                 if (size >= threshold) {
                     return true;
                 }
@@ -135,6 +282,20 @@ public final class DuplicateCodeFinder {
      * @return a list of all duplicate code blocks, the left will always contain the start statement and the right will be the duplicate
      */
     public static List<DuplicateCode> findDuplicates(CtStatement start) {
+        return findDuplicates(start, 0);
+    }
+
+    /**
+     * Finds all duplicate code blocks with the given statement that contain at least the given number of statements.
+     * <p>
+     * This is faster than filtering the result of {@link #findDuplicates(CtStatement)}, because the blocks that are
+     * too small are rejected without comparing their structure.
+     *
+     * @param start the first statement of the code block
+     * @param minimumSize the minimum number of statements in a code block, see {@link DuplicateCode#size()}
+     * @return a list of all duplicate code blocks, the left will always contain the start statement and the right will be the duplicate
+     */
+    public static List<DuplicateCode> findDuplicates(CtStatement start, int minimumSize) {
         DuplicateCodeFinder finder = DuplicateCodeFinder.getFor(start);
 
         List<DuplicateCode> result = new ArrayList<>();
@@ -145,21 +306,78 @@ public final class DuplicateCodeFinder {
                 continue;
             }
 
-            List<CtStatement> leftCode = new ArrayList<>(List.of(start));
-            List<CtStatement> rightCode = new ArrayList<>(List.of(duplicate));
-
-            for (var entry : zip(StatementUtil.getNextStatements(start), StatementUtil.getNextStatements(duplicate))) {
-                if (!StructuralEqualsVisitor.equals(entry.getKey(), entry.getValue())) {
-                    break;
-                }
+            int numberOfNextStatements = finder.countMatchingNextStatements(start, duplicate);
+            if (finder.sizeOf(start, numberOfNextStatements) < minimumSize) {
+                continue;
+            }
 
-                leftCode.add(entry.getKey());
-                rightCode.add(entry.getValue());
+            DuplicateCode duplicateCode = finder.extend(start, duplicate, numberOfNextStatements);
+            if (duplicateCode.left().size() <= numberOfNextStatements && !duplicateCode.isMoreThanOrEqualTo(minimumSize)) {
+                // the block is smaller than expected, because of a hash collision
+                continue;
             }
 
-            result.add(new DuplicateCode(leftCode, rightCode));
+            result.add(duplicateCode);
         }
 
         return result;
     }
+
+    private record Position(StatementSequence sequence, int index) {
+    }
+
+    private static final class StatementSequence {
+        private final List<CtStatement> statements;
+        private final long[] hashes;
+        // sizes[i] is the number of statements in the first i statements of the sequence
+        private final int[] sizes;
+
+        private StatementSequence(List<CtStatement> statements) {
+            this.statements = statements;
+            this.hashes = new long[statements.size()];
+            this.sizes = new int[statements.size() + 1];
+        }
+    }
+
+    /**
+     * Counts the statements in every statement bottom-up, like {@link DuplicateCode#countStatements(CtStatement)}
+     * does for a single statement.
+     */
+    private static final class StatementCounter extends CtScanner {
+        private final Map<CtStatement, Integer> counts;
+        private int[] stack;
+        private int depth;
+
+        private StatementCounter(Map<CtStatement, Integer> counts) {
+            this.counts = counts;
+            this.stack = new int[32];
+            this.depth = 0;
+        }
+
+        @Override
+        public void enter(CtElement ctElement) {
+            if (this.depth == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
+            }
+            this.stack[this.depth] = 0;
+            this.depth += 1;
+        }
+
+        @Override
+        public void exit(CtElement ctElement) {
+            this.depth -= 1;
+            int count = this.stack[this.depth];
+            if (DuplicateCode.isCountedStatement(ctElement)) {
+                count += 1;
+            }
+
+            if (ctElement instanceof CtStatement ctStatement) {
+                this.counts.put(ctStatement, Math.max(count, 1));
+            }
+
+            if (this.depth > 0) {
+                this.stack[this.depth - 1] += count;
+            }
+        }
+    }
 }
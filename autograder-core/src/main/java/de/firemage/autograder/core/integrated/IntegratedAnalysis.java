@@ -3,11 +3,14 @@ package de.firemage.autograder.core.integrated;
 import de.firemage.autograder.api.Translatable;
 import de.firemage.autograder.core.CodeLinter;
 import de.firemage.autograder.core.LinterStatus;
-import de.firemage.autograder.api.AbstractTempLocation;
 import de.firemage.autograder.core.Problem;
+import de.firemage.autograder.core.Profiler;
 import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.parallel.AnalysisScheduler;
+import de.firemage.autograder.core.parallel.AnalysisTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import spoon.processing.Processor;
 import spoon.reflect.CtModel;
 import spoon.reflect.code.CtLiteral;
 import spoon.reflect.declaration.CtElement;
@@ -24,6 +27,7 @@ import java.util.Deque;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -38,9 +42,11 @@ public class IntegratedAnalysis implements CodeLinter<IntegratedCheck> {
     private UploadedFile file;
     private CtModel originalModel;
     private StaticAnalysis staticAnalysis;
+    private Profiler profiler;
 
     private void init(UploadedFile file) {
         this.file = file;
+        this.profiler = file.getProfiler();
 
         // create a copy of the model to later check if a check changed the model
         if (IS_IN_DEBUG_MODE || ENSURE_NO_MODEL_CHANGES || ENSURE_NO_ORPHANS) {
@@ -65,10 +71,22 @@ public class IntegratedAnalysis implements CodeLinter<IntegratedCheck> {
     @Override
     public List<Problem> lint(
         UploadedFile submission,
-        AbstractTempLocation tempLocation,
         ClassLoader classLoader,
+        AnalysisScheduler scheduler,
         List<IntegratedCheck> checks,
         Consumer<Translatable> statusConsumer
+    ) {
+        return this.lint(submission, classLoader, scheduler, checks, statusConsumer, problems -> {});
+    }
+
+    @Override
+    public List<Problem> lint(
+        UploadedFile submission,
+        ClassLoader classLoader,
+        AnalysisScheduler scheduler,
+        List<IntegratedCheck> checks,
+        Consumer<Translatable> statusConsumer,
+        Consumer<? super List<Problem>> problemConsumer
     ) {
         this.init(submission);
 
@@ -77,19 +95,163 @@ public class IntegratedAnalysis implements CodeLinter<IntegratedCheck> {
 
         statusConsumer.accept(LinterStatus.RUNNING_INTEGRATED_CHECKS.getMessage());
 
+        // The integrity of the model can only be verified after each check, if no other check is running at the same time.
+        // With multiple threads, the debug mode verifies the checks that ran in parallel together, so that the parallel
+        // execution is tested as well.
+        boolean verifyEachCheck = (IS_IN_DEBUG_MODE && scheduler.getThreads() == 1) || ENSURE_NO_MODEL_CHANGES || ENSURE_NO_ORPHANS;
+
+        List<IntegratedCheck> parallelChecks = new ArrayList<>();
+        List<IntegratedCheck> sequentialChecks = new ArrayList<>();
+        for (IntegratedCheck check : checks) {
+            if (check.isParallelizable() && !verifyEachCheck) {
+                parallelChecks.add(check);
+            } else {
+                sequentialChecks.add(check);
+            }
+        }
+
+        Map<IntegratedCheck, List<Problem>> problemsByCheck = new IdentityHashMap<>();
+        if (this.profiler.isEnabled()) {
+            // The shared traversal does not allow measuring the checks on their own,
+            // so each check traverses the model by itself.
+            List<AnalysisTask<List<Problem>, RuntimeException>> tasks = new ArrayList<>();
+            for (IntegratedCheck check : parallelChecks) {
+                tasks.add(() -> {
+                    List<Problem> problems = this.runCheck(check);
+                    problemConsumer.accept(problems);
+                    return problems;
+                });
+            }
+
+            List<List<Problem>> parallelResults = scheduler.runAll(tasks);
+            for (int i = 0; i < parallelChecks.size(); i++) {
+                problemsByCheck.put(parallelChecks.get(i), parallelResults.get(i));
+            }
+        } else {
+            // First the checks analyze the model on their own, then the processors of all checks are executed.
+            List<AnalysisTask<List<Processor<?>>, RuntimeException>> tasks = new ArrayList<>();
+            for (IntegratedCheck check : parallelChecks) {
+                tasks.add(() -> {
+                    List<Processor<?>> processors = this.prepareCheck(check);
+                    // a check without processors is already done
+                    if (processors.isEmpty()) {
+                        problemConsumer.accept(new ArrayList<>(check.getProblems()));
+                    }
+                    return processors;
+                });
+            }
+
+            this.runProcessors(scheduler, parallelChecks, scheduler.runAll(tasks), problemConsumer);
+
+            for (IntegratedCheck check : parallelChecks) {
+                problemsByCheck.put(check, new ArrayList<>(check.getProblems()));
+            }
+        }
+
+        if (IS_IN_DEBUG_MODE && !parallelChecks.isEmpty()) {
+            this.assertModelIntegrity("one of the checks that ran in parallel");
+        }
+
+        // the checks that modify the model are executed after all others, so they do not interfere with each other
+        for (IntegratedCheck check : sequentialChecks) {
+            List<Problem> problems = this.runCheck(check);
+            problemsByCheck.put(check, problems);
+            this.assertModelIntegrity(check.getClass().getSimpleName());
+            problemConsumer.accept(problems);
+        }
+
+        // the order of the problems should not depend on the order in which the checks have been executed
         List<Problem> result = new ArrayList<>();
         for (IntegratedCheck check : checks) {
-            long beforeTime = System.nanoTime();
-            result.addAll(check.run(
+            result.addAll(problemsByCheck.get(check));
+        }
+
+        return result;
+    }
+
+    private List<Processor<?>> prepareCheck(IntegratedCheck check) {
+        long beforeTime = System.nanoTime();
+        List<Processor<?>> processors = check.prepare(this.staticAnalysis, this.file.getSource());
+        long afterTime = System.nanoTime();
+        if (processors.isEmpty()) {
+            logger.info("Completed check " + check.getClass().getSimpleName() + " in " + ((afterTime - beforeTime) / 1_000_000 + "ms"));
+        }
+
+        return processors;
+    }
+
+    /**
+     * Executes the processors of multiple checks.
+     * <p>
+     * Instead of traversing the model once per check, the checks are split into one group per thread
+     * and each group traverses the model once. The processors of a check are always in the same group,
+     * so they are never called concurrently.
+     *
+     * @param scheduler the scheduler on which the traversals are executed
+     * @param checks the checks to which the processors belong
+     * @param processorsByCheck the processors of each check
+     * @param problemConsumer notified with the problems of each check, after the traversal of its group completed
+     */
+    private void runProcessors(
+        AnalysisScheduler scheduler,
+        List<IntegratedCheck> checks,
+        List<List<Processor<?>>> processorsByCheck,
+        Consumer<? super List<Problem>> problemConsumer
+    ) {
+        List<Integer> nonEmpty = new ArrayList<>();
+        for (int i = 0; i < processorsByCheck.size(); i++) {
+            if (!processorsByCheck.get(i).isEmpty()) {
+                nonEmpty.add(i);
+            }
+        }
+        int groupCount = Math.min(scheduler.getThreads(), nonEmpty.size());
+
+        List<List<Processor<?>>> groups = new ArrayList<>(groupCount);
+        List<List<IntegratedCheck>> groupChecks = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+            groupChecks.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < nonEmpty.size(); i++) {
+            int index = nonEmpty.get(i);
+            groups.get(i % groupCount).addAll(processorsByCheck.get(index));
+            groupChecks.get(i % groupCount).add(checks.get(index));
+        }
+
+        List<AnalysisTask<Void, RuntimeException>> tasks = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            List<Processor<?>> group = groups.get(i);
+            List<IntegratedCheck> completedChecks = groupChecks.get(i);
+            tasks.add(() -> {
+                long beforeTime = System.nanoTime();
+                new ProcessorDispatcher(group).process(this.staticAnalysis.getModel());
+                long afterTime = System.nanoTime();
+                logger.info("Completed " + group.size() + " processors in " + ((afterTime - beforeTime) / 1_000_000 + "ms"));
+
+                for (IntegratedCheck check : completedChecks) {
+                    problemConsumer.accept(new ArrayList<>(check.getProblems()));
+                }
+                return null;
+            });
+        }
+
+        scheduler.runAll(tasks);
+    }
+
+    private List<Problem> runCheck(IntegratedCheck check) {
+        long beforeTime = System.nanoTime();
+        List<Problem> problems;
+        try (Profiler.Phase phase = this.profiler.start("check " + check.getClass().getSimpleName())) {
+            problems = new ArrayList<>(check.run(
                 this.staticAnalysis,
                 this.file.getSource()
             ));
-            long afterTime = System.nanoTime();
-            logger.info("Completed check " + check.getClass().getSimpleName() + " in " + ((afterTime - beforeTime) / 1_000_000 + "ms"));
-            this.assertModelIntegrity(check.getClass().getSimpleName());
         }
+        long afterTime = System.nanoTime();
+        logger.info("Completed check " + check.getClass().getSimpleName() + " in " + ((afterTime - beforeTime) / 1_000_000 + "ms"));
 
-        return result;
+        return problems;
     }
 
     // sometimes spoon creates invalid elements, which are not the fault of this project or any check
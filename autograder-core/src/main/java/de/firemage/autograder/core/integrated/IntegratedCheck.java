@@ -8,6 +8,7 @@ import de.firemage.autograder.core.ProblemType;
 import de.firemage.autograder.api.Translatable;
 import de.firemage.autograder.core.check.Check;
 import de.firemage.autograder.core.file.SourceInfo;
+import spoon.processing.Processor;
 import spoon.reflect.declaration.CtElement;
 
 import java.util.ArrayList;
@@ -28,13 +29,71 @@ public abstract class IntegratedCheck implements Check {
     }
 
     public List<Problem> run(StaticAnalysis staticAnalysis, SourceInfo sourceInfo) {
+        new ProcessorDispatcher(this.prepare(staticAnalysis, sourceInfo)).process(staticAnalysis.getModel());
+        return this.getProblems();
+    }
+
+    /**
+     * Executes {@link #check(StaticAnalysis)} and returns the processors of this check, which must
+     * be executed on the model before the problems are complete.
+     *
+     * @param staticAnalysis the analysis of the submission
+     * @param sourceInfo the source of the submission
+     * @return the processors of this check
+     */
+    List<Processor<?>> prepare(StaticAnalysis staticAnalysis, SourceInfo sourceInfo) {
         this.problems.clear();
         this.sourceInfo = sourceInfo;
         this.check(staticAnalysis);
+        return this.processors(staticAnalysis);
+    }
+
+    List<Problem> getProblems() {
         return this.problems;
     }
 
-    protected abstract void check(StaticAnalysis staticAnalysis);
+    /**
+     * Analyzes the whole model.
+     * <p>
+     * Checks that only look at elements of certain types should override {@link #processors(StaticAnalysis)}
+     * instead of calling {@link StaticAnalysis#processWith(Processor)} here.
+     *
+     * @param staticAnalysis the analysis of the submission
+     */
+    protected void check(StaticAnalysis staticAnalysis) {
+    }
+
+    /**
+     * Returns the processors of this check, which are executed after {@link #check(StaticAnalysis)}.
+     * <p>
+     * The processors of all checks are executed in a single traversal of the model, which is a lot cheaper
+     * than every check traversing the model on its own. The elements are visited in the same order as with
+     * {@link StaticAnalysis#processWith(Processor)}, but all processors of the check are executed in the
+     * same traversal, so a processor must not depend on another one having already seen the whole model.
+     *
+     * @param staticAnalysis the analysis of the submission
+     * @return the processors, empty if the check does not need any
+     */
+    protected List<Processor<?>> processors(StaticAnalysis staticAnalysis) {
+        return List.of();
+    }
+
+    /**
+     * Returns whether this check can run at the same time as other checks on the same model.
+     * <p>
+     * Checks that modify the model must return false. They are executed one after another,
+     * after all other checks have completed.
+     * <p>
+     * Cloning an element does not count as a modification: {@link CtElement#clone()} only reads the
+     * element and returns a copy without a parent, which may be changed freely. Adding an element of the
+     * model to another element does count, because it changes the parent of the added element, so
+     * elements must be cloned before they are used to build a suggestion.
+     *
+     * @return true if the check only reads the model, false otherwise
+     */
+    public boolean isParallelizable() {
+        return true;
+    }
 
     @Override
     public Translatable getLinter() {
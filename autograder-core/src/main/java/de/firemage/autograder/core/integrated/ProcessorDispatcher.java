@@ -0,0 +1,113 @@
+package de.firemage.autograder.core.integrated;
+
+import spoon.processing.Processor;
+import spoon.processing.TraversalStrategy;
+import spoon.reflect.CtModel;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.CtScanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Executes multiple {@link Processor}s in a single traversal of the model.
+ * <p>
+ * Every processor sees the same elements in the same order as with {@link CtModel#processWith(Processor)},
+ * but the model is only traversed once for all of them. Which processors are interested in an element
+ * only depends on the class of the element, so it is computed once per class and not for every element.
+ * <p>
+ * This class is not thread-safe, but multiple instances can traverse the same model at the same time.
+ */
+final class ProcessorDispatcher extends CtScanner {
+    private final List<Processor<CtElement>> processors;
+    private final Map<Class<?>, List<Processor<CtElement>>> preOrderProcessors;
+    private final Map<Class<?>, List<Processor<CtElement>>> postOrderProcessors;
+
+    // The processed element types are checked before an element is passed to a processor.
+    @SuppressWarnings("unchecked")
+    ProcessorDispatcher(List<? extends Processor<?>> processors) {
+        this.processors = new ArrayList<>(processors.size());
+        for (Processor<?> processor : processors) {
+            this.processors.add((Processor<CtElement>) processor);
+        }
+
+        this.preOrderProcessors = new HashMap<>();
+        this.postOrderProcessors = new HashMap<>();
+    }
+
+    /**
+     * Executes all processors on the given model.
+     *
+     * @param model the model to process
+     */
+    void process(CtModel model) {
+        if (this.processors.isEmpty()) {
+            return;
+        }
+
+        Factory factory = model.getUnnamedModule().getFactory();
+        for (Processor<CtElement> processor : this.processors) {
+            processor.setFactory(factory);
+            processor.init();
+            processor.process();
+        }
+
+        this.scan(model.getAllModules());
+
+        for (Processor<CtElement> processor : this.processors) {
+            processor.processingDone();
+        }
+    }
+
+    @Override
+    public void scan(CtElement element) {
+        if (element == null) {
+            return;
+        }
+
+        for (Processor<CtElement> processor : this.preOrderProcessors.computeIfAbsent(element.getClass(), type -> this.findProcessors(type, TraversalStrategy.PRE_ORDER))) {
+            if (processor.isToBeProcessed(element)) {
+                processor.process(element);
+            }
+        }
+
+        super.scan(element);
+
+        for (Processor<CtElement> processor : this.postOrderProcessors.computeIfAbsent(element.getClass(), type -> this.findProcessors(type, TraversalStrategy.POST_ORDER))) {
+            if (processor.isToBeProcessed(element)) {
+                processor.process(element);
+            }
+        }
+    }
+
+    private List<Processor<CtElement>> findProcessors(Class<?> elementType, TraversalStrategy traversalStrategy) {
+        List<Processor<CtElement>> result = new ArrayList<>();
+        for (Processor<CtElement> processor : this.processors) {
+            if (processor.getTraversalStrategy() == traversalStrategy && canProcess(processor, elementType)) {
+                result.add(processor);
+            }
+        }
+
+        return result.isEmpty() ? List.of() : result;
+    }
+
+    // this is the same condition that spoon uses when processing the model with a single processor
+    private static boolean canProcess(Processor<?> processor, Class<?> elementType) {
+        Set<Class<? extends CtElement>> processedTypes = processor.getProcessedElementTypes();
+        if (processedTypes == null) {
+            return false;
+        }
+
+        for (Class<? extends CtElement> processedType : processedTypes) {
+            if (!processedType.isAssignableFrom(elementType)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
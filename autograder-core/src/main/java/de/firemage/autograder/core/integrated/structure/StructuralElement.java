@@ -2,7 +2,18 @@ package de.firemage.autograder.core.integrated.structure;
 
 import spoon.reflect.declaration.CtElement;
 
-public record StructuralElement<T extends CtElement>(T element) {
+/**
+ * Wraps an element, so it is compared by its structure.
+ *
+ * @param element the wrapped element
+ * @param structuralHash the hash of the element computed by the {@link StructuralHashCodeVisitor}
+ * @param <T> the type of the element
+ */
+public record StructuralElement<T extends CtElement>(T element, long structuralHash) {
+    public StructuralElement(T element) {
+        this(element, StructuralHashCodeVisitor.computeStructuralHash(element));
+    }
+
     public static <T extends CtElement> StructuralElement<T> of(T element) {
         return new StructuralElement<>(element);
     }
@@ -16,11 +27,13 @@ public record StructuralElement<T extends CtElement>(T element) {
             return false;
         }
 
-        return StructuralEqualsVisitor.equals(this.element, otherStructuralElement.element);
+        // elements with different hashes can not be equal, so the expensive comparison can be skipped
+        return this.structuralHash == otherStructuralElement.structuralHash
+            && StructuralEqualsVisitor.equals(this.element, otherStructuralElement.element);
     }
 
     @Override
     public int hashCode() {
-        return StructuralHashCodeVisitor.computeHashCode(this.element);
+        return Long.hashCode(this.structuralHash);
     }
 }
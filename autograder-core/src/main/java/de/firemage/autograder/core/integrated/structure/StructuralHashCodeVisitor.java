@@ -1,38 +1,168 @@
 package de.firemage.autograder.core.integrated.structure;
 
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+import spoon.reflect.code.CtBinaryOperator;
+import spoon.reflect.code.CtLiteral;
+import spoon.reflect.code.CtOperatorAssignment;
+import spoon.reflect.code.CtUnaryOperator;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.path.CtRole;
-import spoon.reflect.reference.CtTypeReference;
+import spoon.reflect.reference.CtCatchVariableReference;
+import spoon.reflect.reference.CtLocalVariableReference;
+import spoon.reflect.reference.CtParameterReference;
+import spoon.reflect.reference.CtReference;
 import spoon.reflect.visitor.CtScanner;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * A visitor that computes a hash code for a spoon element based on its structure.
  * <br>
  * The default hashCode implementation in spoon does not ignore comments or naming of things
  * and to be compatible with the {@link StructuralEqualsVisitor} a different hashCode implementation is needed.
  * The hash code visitor tries to be as generic as possible, but with a low number of collisions.
+ * <br>
+ * The hash of an element is computed from the hashes of its children (like in a merkle tree), so the hashes of
+ * all elements in a tree can be computed bottom-up in a single pass with {@link #computeHashCodes(CtElement, Class)}.
+ * The hash only depends on the structure of the element, so it is the same in every JVM.
+ * <br>
+ * The names of references are part of the hash. For finding code that has been copied and then renamed,
+ * {@link #computeNameInsensitiveHashCodes(CtElement, Class)} ignores the names of local variables and parameters.
  */
 public final class StructuralHashCodeVisitor extends CtScanner {
-    private final HashCodeBuilder builder;
+    private static final long INITIAL_HASH = 17;
+
+    private final Class<? extends CtElement> recordedType;
+    private final boolean ignoresLocalNames;
+    private final Map<CtElement, Long> hashCodes;
 
-    private StructuralHashCodeVisitor() {
-        this.builder = new HashCodeBuilder();
+    // the hashes of the elements that are currently visited, the last one is the innermost element
+    private long[] stack;
+    private int depth;
+    private long lastHashCode;
+
+    private StructuralHashCodeVisitor(Class<? extends CtElement> recordedType, boolean ignoresLocalNames) {
+        this.recordedType = recordedType;
+        this.ignoresLocalNames = ignoresLocalNames;
+        this.hashCodes = new IdentityHashMap<>();
+        this.stack = new long[32];
+        this.depth = 0;
     }
 
     public static int computeHashCode(CtElement element) {
-        StructuralHashCodeVisitor visitor = new StructuralHashCodeVisitor();
+        return Long.hashCode(computeStructuralHash(element));
+    }
+
+    /**
+     * Computes the 64-bit structural hash of the given element.
+     *
+     * @param element the element to hash
+     * @return the hash, which is equal for elements that are equal according to the {@link StructuralEqualsVisitor}
+     */
+    public static long computeStructuralHash(CtElement element) {
+        StructuralHashCodeVisitor visitor = new StructuralHashCodeVisitor(null, false);
+        visitor.scan(element);
+        return visitor.lastHashCode;
+    }
+
+    /**
+     * Computes the 64-bit structural hash of the given element, ignoring the names of local variables and parameters.
+     *
+     * @param element the element to hash
+     * @return the hash, which is equal to the one of {@link #computeNameInsensitiveHashCodes(CtElement, Class)}
+     */
+    public static long computeNameInsensitiveHash(CtElement element) {
+        StructuralHashCodeVisitor visitor = new StructuralHashCodeVisitor(null, true);
         visitor.scan(element);
-        return visitor.getHashCode();
+        return visitor.lastHashCode;
+    }
+
+    /**
+     * Computes the structural hashes of the given element and all elements in it in a single pass.
+     *
+     * @param root the element to start with
+     * @param type only the hashes of elements of this type are returned
+     * @param <T> the type of the elements
+     * @return the hashes of the elements, compared by identity
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends CtElement> Map<T, Long> computeHashCodes(CtElement root, Class<T> type) {
+        StructuralHashCodeVisitor visitor = new StructuralHashCodeVisitor(type, false);
+        visitor.scan(root);
+        return (Map<T, Long>) visitor.hashCodes;
+    }
+
+    /**
+     * Computes the hashes like {@link #computeHashCodes(CtElement, Class)}, but ignores the names of local variables,
+     * parameters and catch variables.
+     * <p>
+     * Renaming these variables does not change the hashes, while their types are still part of them. The hashes
+     * are not compatible with the {@link StructuralEqualsVisitor}, which compares the names.
+     *
+     * @param root the element to start with
+     * @param type only the hashes of elements of this type are returned
+     * @param <T> the type of the elements
+     * @return the hashes of the elements, compared by identity
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends CtElement> Map<T, Long> computeNameInsensitiveHashCodes(CtElement root, Class<T> type) {
+        StructuralHashCodeVisitor visitor = new StructuralHashCodeVisitor(type, true);
+        visitor.scan(root);
+        return (Map<T, Long>) visitor.hashCodes;
+    }
+
+    private static long combine(long hash, long value) {
+        return 37 * hash + value;
+    }
+
+    // spreads the bits of a finished hash, so similar subtrees do not result in similar hashes
+    private static long mix(long hash) {
+        long result = hash;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
     }
 
     @Override
     public void enter(CtElement ctElement) {
-        if (ctElement instanceof CtTypeReference<?> ctTypeReference) {
-            this.builder.append(ctTypeReference.getSimpleName());
+        long hash = INITIAL_HASH;
+        // the attributes that are compared by the equals visitor as well, these are not visited by the scanner
+        if (ctElement instanceof CtReference ctReference) {
+            if (!(this.ignoresLocalNames && isLocalReference(ctReference))) {
+                hash = combine(hash, Objects.hashCode(ctReference.getSimpleName()));
+            }
+        } else if (ctElement instanceof CtBinaryOperator<?> ctBinaryOperator) {
+            hash = combine(hash, ctBinaryOperator.getKind().ordinal());
+        } else if (ctElement instanceof CtUnaryOperator<?> ctUnaryOperator) {
+            hash = combine(hash, ctUnaryOperator.getKind().ordinal());
+        } else if (ctElement instanceof CtOperatorAssignment<?, ?> ctOperatorAssignment) {
+            hash = combine(hash, ctOperatorAssignment.getKind().ordinal());
+        } else if (ctElement instanceof CtLiteral<?> ctLiteral) {
+            hash = combine(hash, Objects.hashCode(ctLiteral.getValue()));
+        }
+
+        hash = combine(hash, ctElement.getClass().getSimpleName().hashCode());
+
+        if (this.depth == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, this.stack.length * 2);
         }
+        this.stack[this.depth] = hash;
+        this.depth += 1;
+    }
+
+    @Override
+    public void exit(CtElement ctElement) {
+        this.depth -= 1;
+        this.lastHashCode = mix(this.stack[this.depth]);
 
-        this.builder.append(ctElement.getClass().getSimpleName().hashCode());
+        if (this.recordedType != null && this.recordedType.isInstance(ctElement)) {
+            this.hashCodes.put(ctElement, this.lastHashCode);
+        }
     }
 
     @Override
@@ -40,11 +170,26 @@ public final class StructuralHashCodeVisitor extends CtScanner {
         if (StructuralEqualsVisitor.shouldSkip(ctRole, element)) {
             return;
         }
-        this.builder.append(ctRole);
+
+        // the role is hashed even if there is no element
+        this.appendToCurrent(ctRole == null ? -1 : ctRole.ordinal());
+        if (element == null) {
+            return;
+        }
+
         super.scan(ctRole, element);
+        this.appendToCurrent(this.lastHashCode);
+    }
+
+    private static boolean isLocalReference(CtReference ctReference) {
+        return ctReference instanceof CtLocalVariableReference<?>
+            || ctReference instanceof CtParameterReference<?>
+            || ctReference instanceof CtCatchVariableReference<?>;
     }
 
-    public int getHashCode() {
-        return this.builder.toHashCode();
+    private void appendToCurrent(long value) {
+        if (this.depth > 0) {
+            this.stack[this.depth - 1] = combine(this.stack[this.depth - 1], value);
+        }
     }
 }
@@ -1,128 +1,155 @@
 package de.firemage.autograder.core.parallel;
 
-import de.firemage.autograder.core.Problem;
-
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
-import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
-public class AnalysisScheduler {
-    private final ClassLoader classLoader;
-    private final List<AnalysisThread> analysisThreads;
-    private final Queue<AnalysisTask> waitingTasks;
-    private volatile boolean completionAllowed;
-    private final AtomicInteger waitingAndRunningTaskCount;
+/**
+ * Executes {@link AnalysisTask}s on a fixed number of threads.
+ * <p>
+ * The behavior does not depend on the order in which the tasks finish:
+ * <ul>
+ *     <li>the results are returned in the order in which the tasks have been passed</li>
+ *     <li>if tasks fail, the exception of the first failing task in that order is rethrown</li>
+ * </ul>
+ * If only one thread is requested, no threads are created and all tasks are executed by the caller.
+ */
+public final class AnalysisScheduler implements AutoCloseable {
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger(0);
+
+    private final int threads;
+    private final ExecutorService executor;
 
+    /**
+     * Creates a new scheduler.
+     *
+     * @param threads the number of threads to use, a value of zero or less will pick a number based on the available processors
+     * @param classLoader the context class loader for the worker threads, might be null
+     */
     public AnalysisScheduler(int threads, ClassLoader classLoader) {
-        this.classLoader = classLoader;
-        this.waitingTasks = new ArrayDeque<>();
-        this.completionAllowed = false;
-        this.waitingAndRunningTaskCount = new AtomicInteger(0);
+        this.threads = threads > 0 ? threads : Math.max(Runtime.getRuntime().availableProcessors() - 2, 1);
 
-        this.analysisThreads = new ArrayList<>();
-        int actualThreads = threads > 0 ? threads : Math.max(Runtime.getRuntime().availableProcessors() - 2, 1);
-
-        if (actualThreads == 1) {
-            return;
+        if (this.threads == 1) {
+            this.executor = null;
+        } else {
+            this.executor = Executors.newFixedThreadPool(this.threads, new AnalysisThreadFactory(classLoader));
         }
+    }
 
-        for (int i = 0; i < actualThreads; i++) {
-            var thread = new AnalysisThread(this, i);
-            thread.start();
-            this.analysisThreads.add(thread);
-        }
+    /**
+     * Returns whether the tasks are executed on multiple threads.
+     *
+     * @return true if there are worker threads, false if the tasks are executed by the caller
+     */
+    public boolean isParallel() {
+        return this.executor != null;
     }
 
-    public void submitTask(AnalysisTask task) {
-        synchronized (this.waitingTasks) {
-            this.waitingTasks.add(task);
-            this.waitingAndRunningTaskCount.incrementAndGet();
-            this.waitingTasks.notifyAll();
-        }
+    /**
+     * Returns the number of tasks that are executed at the same time.
+     *
+     * @return the number of threads, 1 if the tasks are executed by the caller
+     */
+    public int getThreads() {
+        return this.threads;
     }
 
-    protected Optional<AnalysisTask> getTask() throws InterruptedException {
-        synchronized (this.waitingTasks) {
-            while (this.waitingTasks.isEmpty()) {
-                this.waitingTasks.wait(300);
+    /**
+     * Executes all tasks and waits for them to complete.
+     *
+     * @param tasks the tasks to execute
+     * @return the results of the tasks in the same order as the tasks
+     * @param <T> the type of the results
+     * @param <E> the type of the checked exception thrown by the tasks
+     * @throws E the exception of the first task that failed
+     */
+    public <T, E extends Exception> List<T> runAll(List<? extends AnalysisTask<? extends T, ? extends E>> tasks) throws E {
+        List<T> results = new ArrayList<>(tasks.size());
 
-                if (this.completionAllowed && this.waitingAndRunningTaskCount.get() == 0) {
-                    return Optional.empty();
-                }
+        if (this.executor == null) {
+            for (AnalysisTask<? extends T, ? extends E> task : tasks) {
+                results.add(task.run());
             }
-            return Optional.of(this.waitingTasks.poll());
+
+            return results;
         }
-    }
 
-    protected boolean completeTask() {
-        return this.waitingAndRunningTaskCount.decrementAndGet() == 0 && this.completionAllowed;
-    }
+        List<Future<? extends T>> futures = new ArrayList<>(tasks.size());
+        for (AnalysisTask<? extends T, ? extends E> task : tasks) {
+            futures.add(this.executor.submit(task::run));
+        }
 
-    protected ClassLoader getClassLoader() {
-        return this.classLoader;
-    }
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException exception) {
+                // the remaining tasks are no longer relevant
+                for (Future<? extends T> future : futures.subList(i + 1, futures.size())) {
+                    future.cancel(false);
+                }
 
-    /**
-     * Collects all problems from all threads. This method is blocking!
-     * Never add more tasks *outside already submitted tasks* after calling this method, because they may never be executed.
-     */
-    public AnalysisResult collectProblems() {
-        if (this.analysisThreads.isEmpty()) {
-            return executeChecksSingleThreaded();
-        } else {
-            return collectProblemsFromThreads();
+                throw AnalysisScheduler.<E>rethrow(exception.getCause());
+            } catch (InterruptedException exception) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the analysis to complete", exception);
+            }
         }
+
+        return results;
     }
 
-    private AnalysisResult collectProblemsFromThreads() {
-        this.completionAllowed = true;
+    // The task can only throw unchecked exceptions or an exception of type E
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
 
-        List<Problem> allProblems = new ArrayList<>();
-        for (var thread : this.analysisThreads) {
-            try {
-                var result = thread.join();
+        if (throwable instanceof Error error) {
+            throw error;
+        }
 
-                if (result.failed()) {
-                    return result;
-                }
+        return (E) throwable;
+    }
 
-                allProblems.addAll(result.problems());
-            } catch (InterruptedException e) {
-                throw new IllegalStateException(e);
-            }
+    @Override
+    public void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
         }
-
-        return AnalysisResult.forSuccess(allProblems);
     }
 
-    private AnalysisResult executeChecksSingleThreaded() {
-        List<Problem> allProblems = new ArrayList<>();
+    private static final class AnalysisThreadFactory implements ThreadFactory {
+        private final ClassLoader classLoader;
+        private final int poolIndex;
+        private final AtomicInteger threadCounter;
 
-        var reporter = new ProblemReporter() {
-            @Override
-            public void reportProblem(Problem problem) {
-                allProblems.add(problem);
-            }
+        private AnalysisThreadFactory(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            this.poolIndex = POOL_COUNTER.getAndIncrement();
+            this.threadCounter = new AtomicInteger(0);
+        }
 
-            @Override
-            public void reportProblems(Collection<Problem> problems) {
-                allProblems.addAll(problems);
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(
+                runnable,
+                "Autograder-Analysis-Thread-%d-%d".formatted(this.poolIndex, this.threadCounter.getAndIncrement())
+            );
+            // the threads should never prevent the JVM from exiting
+            thread.setDaemon(true);
+
+            if (this.classLoader != null) {
+                thread.setContextClassLoader(this.classLoader);
             }
-        };
 
-        while (!this.waitingTasks.isEmpty()) {
-            try {
-                var task = this.waitingTasks.poll();
-                task.run(this, reporter);
-            } catch (Exception e) {
-                return AnalysisResult.forFailure(e);
-            }
+            return thread;
         }
-
-        return AnalysisResult.forSuccess(allProblems);
     }
 }
@@ -1,6 +1,12 @@
 package de.firemage.autograder.core.parallel;
 
+/**
+ * A unit of work that can be executed by the {@link AnalysisScheduler}.
+ *
+ * @param <T> the type of the result
+ * @param <E> the type of the checked exception that might be thrown
+ */
 @FunctionalInterface
-public interface AnalysisTask {
-    void run(AnalysisScheduler scheduler, ProblemReporter reporter) throws Exception;
+public interface AnalysisTask<T, E extends Exception> {
+    T run() throws E;
 }
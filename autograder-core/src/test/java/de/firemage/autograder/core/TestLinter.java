@@ -0,0 +1,54 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.CheckConfiguration;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.file.TempLocation;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TestLinter {
+    private final TempLocation tempLocation = TempLocation.random();
+
+    @Test
+    void testChecksAreReusedForTheSameConfiguration() throws IOException, LinterException {
+        Linter linter = new Linter(AbstractLinter.builder(Locale.US).tempLocation(this.tempLocation));
+        CheckConfiguration magicLiterals = CheckConfiguration.fromProblemTypes(List.of(ProblemType.MAGIC_LITERAL));
+        CheckConfiguration allProblems = CheckConfiguration.fromProblemTypes(List.of(
+            ProblemType.MAGIC_LITERAL,
+            ProblemType.REDUNDANT_VARIABLE
+        ));
+
+        try (AbstractTempLocation submission = this.tempLocation.createTempDirectory("submission")) {
+            Files.writeString(submission.toPath().resolve("Test.java"), """
+                public class Test {
+                    public static int compute(int value) {
+                        return value * 31;
+                    }
+                }
+                """);
+
+            Path path = submission.toPath();
+            List<Problem> first = linter.checkFile(path, JavaVersion.JAVA_17, magicLiterals, status -> {});
+            List<Problem> second = linter.checkFile(path, JavaVersion.JAVA_17, magicLiterals, status -> {});
+            List<Problem> other = linter.checkFile(path, JavaVersion.JAVA_17, allProblems, status -> {});
+
+            assertEquals(1, first.size());
+            assertEquals(1, second.size());
+            assertSame(first.get(0).getCheck(), second.get(0).getCheck());
+            // a different configuration gets its own checks
+            assertNotSame(first.get(0).getCheck(), other.get(0).getCheck());
+        }
+    }
+}
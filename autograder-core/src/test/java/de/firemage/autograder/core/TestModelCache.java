@@ -0,0 +1,109 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.file.StringSourceInfo;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.integrated.UsesFinder;
+import org.junit.jupiter.api.Test;
+import spoon.reflect.declaration.CtField;
+import spoon.reflect.declaration.CtType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestModelCache {
+    private final AbstractTempLocation tempLocation = TempLocation.random();
+
+    @Test
+    void testRestoredModelMatchesBuiltModel() throws IOException, LinterException {
+        SourceInfo sourceInfo = StringSourceInfo.fromSourceStrings(JavaVersion.JAVA_17, Map.of(
+            "com.example.Main",
+            """
+                package com.example;
+
+                import java.util.List;
+
+                public class Main {
+                    private final List<String> values = List.of("a");
+
+                    public static void main(String[] args) {
+                        System.out.println(new Main().values);
+                    }
+                }
+                """
+        ));
+
+        try (AbstractTempLocation cacheDirectory = this.tempLocation.createTempDirectory("model_cache")) {
+            ModelCache modelCache = new ModelCache(cacheDirectory.toPath());
+
+            String builtModel;
+            try (UploadedFile file = this.build(sourceInfo, modelCache)) {
+                builtModel = describe(file.getModel());
+            }
+            assertEquals(1, countEntries(cacheDirectory.toPath()));
+
+            assertTrue(modelCache.load(sourceInfo).isPresent());
+            try (UploadedFile file = this.build(sourceInfo, modelCache)) {
+                assertEquals(builtModel, describe(file.getModel()));
+
+                // the derived information must be available for the restored model as well
+                CtField<?> field = file.getModel().getModel().getElements((CtField<?> ctField) -> true).get(0);
+                assertTrue(UsesFinder.variableUses(field).hasAny());
+            }
+            assertEquals(1, countEntries(cacheDirectory.toPath()));
+        }
+    }
+
+    @Test
+    void testDifferentSourceIsNotRestored() throws IOException, LinterException {
+        SourceInfo first = StringSourceInfo.fromSourceString(JavaVersion.JAVA_17, "Test", "public class Test {}");
+        SourceInfo second = StringSourceInfo.fromSourceString(JavaVersion.JAVA_17, "Test", "public class Test { int a; }");
+
+        try (AbstractTempLocation cacheDirectory = this.tempLocation.createTempDirectory("model_cache")) {
+            ModelCache modelCache = new ModelCache(cacheDirectory.toPath());
+
+            try (UploadedFile file = this.build(first, modelCache)) {
+                file.getModel().ensureModelBuild();
+            }
+
+            assertTrue(modelCache.load(first).isPresent());
+            assertTrue(modelCache.load(second).isEmpty());
+        }
+    }
+
+    private UploadedFile build(SourceInfo sourceInfo, ModelCache modelCache) throws IOException, LinterException {
+        UploadedFile file = UploadedFile.build(sourceInfo, this.tempLocation, status -> {
+        }, null, modelCache);
+        assertNotNull(file, "Could not compile the code");
+        return file;
+    }
+
+    private static String describe(CodeModel model) {
+        List<String> types = model.getModel()
+            .getAllTypes()
+            .stream()
+            .map(CtType::toString)
+            .sorted()
+            .toList();
+
+        return model.getBasePackage().getQualifiedName() + System.lineSeparator() + String.join(System.lineSeparator(), types);
+    }
+
+    private static long countEntries(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.CheckConfiguration;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.framework.TestInput;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs all checks with multiple threads and compares the problems with a sequential run.
+ * <p>
+ * The other tests run the checks on a single thread, so a check that is not thread-safe would only be noticed here.
+ */
+class TestParallelChecks {
+    private static final Comparator<Problem> PROBLEM_ORDER = Comparator
+        .comparing((Problem problem) -> problem.getType())
+        .thenComparing(Problem::getDisplayLocation);
+    private static final CheckConfiguration ALL_CHECKS = CheckConfiguration.fromProblemTypes(Arrays.asList(ProblemType.values()));
+
+    private final TempLocation tempLocation = TempLocation.random();
+    private final Linter sequentialLinter = this.createLinter(1);
+    private final Linter parallelLinter = this.createLinter(4);
+
+    private Linter createLinter(int threads) {
+        return new Linter(AbstractLinter.builder(Locale.US)
+            .tempLocation(this.tempLocation)
+            .threads(threads));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> testSubmissions() throws IOException {
+        List<Path> submissions;
+        try (Stream<Path> paths = Files.list(Path.of("../test_submissions"))) {
+            submissions = paths.map(path -> path.resolve("code")).sorted().toList();
+        }
+
+        return DynamicTest.stream(
+            submissions.stream(),
+            path -> "Parallel Checks: %s".formatted(path.getParent().getFileName()),
+            path -> assertEquals(
+                describe(this.sequentialLinter, this.sequentialLinter.checkFile(path, JavaVersion.JAVA_17, ALL_CHECKS, status -> {})),
+                describe(this.parallelLinter, this.parallelLinter.checkFile(path, JavaVersion.JAVA_17, ALL_CHECKS, status -> {}))
+            )
+        );
+    }
+
+    @TestFactory
+    Stream<DynamicTest> testCheckTests() throws URISyntaxException, IOException {
+        Path testPath = Path.of(this.getClass().getResource("check_tests/").toURI()).toAbsolutePath();
+
+        List<Path> folders;
+        try (Stream<Path> paths = Files.list(testPath)) {
+            folders = paths.sorted().toList();
+        }
+
+        return DynamicTest.stream(
+            folders.stream().map(TestInput::new),
+            testInput -> "Parallel Checks: %s".formatted(testInput.config().checkPath()),
+            testInput -> assertEquals(
+                describe(this.sequentialLinter, this.check(this.sequentialLinter, testInput)),
+                describe(this.parallelLinter, this.check(this.parallelLinter, testInput))
+            )
+        );
+    }
+
+    private List<Problem> check(Linter linter, TestInput testInput) throws LinterException, IOException {
+        try (UploadedFile file = UploadedFile.build(testInput.sourceInfo(), this.tempLocation, status -> {}, null)) {
+            return linter.checkFile(file, ALL_CHECKS, status -> {});
+        }
+    }
+
+    private static List<String> describe(Linter linter, List<Problem> problems) {
+        return problems.stream()
+            .sorted(PROBLEM_ORDER)
+            .map(problem -> problem.getType() + " " + problem.getDisplayLocation() + " " + linter.translateMessage(problem.getExplanation()))
+            .toList();
+    }
+}
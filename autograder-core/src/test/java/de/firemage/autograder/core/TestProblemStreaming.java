@@ -0,0 +1,76 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.api.AbstractLinter;
+import de.firemage.autograder.api.AbstractProblem;
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.CheckConfiguration;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.file.TempLocation;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TestProblemStreaming {
+    private static final Comparator<AbstractProblem> PROBLEM_ORDER = Comparator
+        .comparing((AbstractProblem problem) -> problem.getType())
+        .thenComparing(AbstractProblem::getDisplayLocation);
+
+    private final TempLocation tempLocation = TempLocation.random();
+
+    @Test
+    void testStreamedProblemsMatchReturnedProblems() throws IOException, LinterException {
+        Linter linter = new Linter(AbstractLinter.builder(Locale.US)
+            .tempLocation(this.tempLocation)
+            .maxProblemsPerCheck(1)
+            .threads(2));
+        CheckConfiguration checkConfiguration = CheckConfiguration.fromProblemTypes(List.of(
+            ProblemType.MAGIC_LITERAL,
+            ProblemType.REDUNDANT_VARIABLE,
+            ProblemType.SYSTEM_SPECIFIC_LINE_BREAK
+        ));
+
+        try (AbstractTempLocation submission = this.tempLocation.createTempDirectory("submission")) {
+            Files.writeString(submission.toPath().resolve("Test.java"), """
+                public class Test {
+                    public static int compute(int value) {
+                        int result = value * 31 + 17;
+                        return result;
+                    }
+
+                    public static void main(String[] args) {
+                        System.out.print(compute(5) + "\\n");
+                    }
+                }
+                """);
+
+            Path path = submission.toPath();
+            List<AbstractProblem> streamedProblems = new ArrayList<>();
+            linter.checkFile(path, JavaVersion.JAVA_17, checkConfiguration, status -> {
+            }, streamedProblems::add);
+
+            List<Problem> returnedProblems = linter.checkFile(path, JavaVersion.JAVA_17, checkConfiguration, status -> {
+            });
+
+            assertFalse(returnedProblems.isEmpty());
+            // the magic literals are merged into a single problem, like in the returned problems
+            assertEquals(describe(returnedProblems, linter), describe(streamedProblems, linter));
+        }
+    }
+
+    private static List<String> describe(List<? extends AbstractProblem> problems, Linter linter) {
+        return problems.stream()
+            .sorted(PROBLEM_ORDER)
+            .map(problem -> problem.getType() + " " + problem.getDisplayLocation() + " " + linter.translateMessage(problem.getExplanation()))
+            .toList();
+    }
+}
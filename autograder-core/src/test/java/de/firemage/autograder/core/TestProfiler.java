@@ -0,0 +1,56 @@
+package de.firemage.autograder.core;
+
+import de.firemage.autograder.api.AbstractTempLocation;
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LintReport;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.file.StringSourceInfo;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestProfiler {
+    private final AbstractTempLocation tempLocation = TempLocation.random();
+
+    @Test
+    void testRecordsPhases() throws IOException, LinterException {
+        SourceInfo sourceInfo = StringSourceInfo.fromSourceString(JavaVersion.JAVA_17, "Test", "public class Test {}");
+        Profiler profiler = Profiler.create();
+
+        try (UploadedFile file = UploadedFile.build(sourceInfo, this.tempLocation, status -> {
+        }, null, null, profiler)) {
+            assertNotNull(file, "Could not compile the code");
+            file.getModel().ensureModelBuild();
+        }
+
+        List<String> phases = profiler.toReport()
+            .measurements()
+            .stream()
+            .map(LintReport.Measurement::phase)
+            .toList();
+        assertTrue(phases.contains("compile"), phases::toString);
+        assertTrue(phases.contains("model build"), phases::toString);
+
+        for (LintReport.Measurement measurement : profiler.toReport().measurements()) {
+            assertTrue(measurement.wallTimeNanos() >= 0, measurement::toString);
+            assertEquals(Thread.currentThread().getName(), measurement.thread());
+        }
+    }
+
+    @Test
+    void testDisabledProfilerRecordsNothing() {
+        try (Profiler.Phase phase = Profiler.NONE.start("phase")) {
+            assertNotNull(phase);
+        }
+
+        assertTrue(Profiler.NONE.toReport().measurements().isEmpty());
+    }
+}
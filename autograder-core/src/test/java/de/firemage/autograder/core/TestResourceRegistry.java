@@ -0,0 +1,68 @@
+package de.firemage.autograder.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TestResourceRegistry {
+    @Test
+    void testResourceIsCreatedOncePerParameter() {
+        ResourceRegistry registry = new ResourceRegistry();
+
+        Pattern first = registry.get(Pattern.class, "a+", Pattern::compile);
+        assertSame(first, registry.get(Pattern.class, "a+", Pattern::compile));
+        assertNotSame(first, registry.get(Pattern.class, "b+", Pattern::compile));
+        assertEquals(2, registry.size());
+
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertNotSame(first, registry.get(Pattern.class, "a+", Pattern::compile));
+    }
+
+    @Test
+    void testConcurrentRequestsCreateOneResource() throws InterruptedException {
+        ResourceRegistry registry = new ResourceRegistry();
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Object> resources = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                Object resource = registry.get(Object.class, () -> {
+                    creations.incrementAndGet();
+                    return new Object();
+                });
+                synchronized (resources) {
+                    resources.add(resource);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, creations.get());
+        assertEquals(8, resources.size());
+        resources.forEach(resource -> assertSame(resources.get(0), resource));
+    }
+}
@@ -0,0 +1,109 @@
+package de.firemage.autograder.core.check.comment;
+
+import de.firemage.autograder.core.check.comment.CodeCommentClassifier.Verdict;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCodeCommentClassifier {
+    private static final CommentedOutCodeCheck CHECK = new CommentedOutCodeCheck();
+
+    private static Verdict classify(String content) {
+        return CodeCommentClassifier.classify(content, CommentedOutCodeCheck.prepareCode(content));
+    }
+
+    private static void assertAgreesWithParser(String content) {
+        Verdict verdict = classify(content);
+        if (verdict != Verdict.UNKNOWN) {
+            boolean isParsable = CHECK.isParsableByParser(CommentedOutCodeCheck.prepareCode(content));
+            assertEquals(isParsable, verdict == Verdict.CODE, () -> "Classified '%s' as %s".formatted(content, verdict));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '~', value = {
+        "int a = b;                                      | CODE",
+        "a += 7;                                         | CODE",
+        "System.out.println(\"a is 3\");                 | CODE",
+        "if (a == 3) {                                   | CODE",
+        "}                                               | CODE",
+        "print(a)                                        | CODE",
+        "this.values[i] = new Value(i, -1);              | CODE",
+        "while (true) { i++; }                           | CODE",
+        "return a ? b : c;                               | CODE",
+        "This is a normal sentence.                      | PROSE",
+        "TODO: check if the input is valid               | PROSE",
+        "don't do this                                   | PROSE",
+        "see issue #3                                    | PROSE",
+        "the value (which is between 0 and 10)           | PROSE",
+        "List<String> list = new ArrayList<>();          | UNKNOWN",
+        "x -> x + 1                                      | UNKNOWN",
+        "a = b; // comment                               | UNKNOWN",
+        "var x = 1;                                      | UNKNOWN",
+        "...                                             | UNKNOWN",
+    })
+    void testClassify(String content, Verdict expected) {
+        assertEquals(expected, classify(content));
+        assertAgreesWithParser(content);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '~', value = {
+        "if (a) int b = 1;",
+        "1.5L;",
+        "08;",
+        "a + b;",
+        "a(b)(c);",
+        "(a) b;",
+        "this(a);",
+        "a < b > c;",
+        "int[] a = b;",
+        "a.b c = d, e;",
+        "'a' + 'b'",
+        "'ab'",
+        "''",
+        "\"unterminated",
+        "a b",
+        "a.b c",
+        "Äpfel und Birnen",
+        "x = \"\\q\";",
+        "f(a, , b);",
+        "else {",
+        "a = b = c;",
+        "-a;",
+        "new A();",
+        "new A().b().c = 1;",
+    })
+    void testAgreesWithParser(String content) {
+        assertAgreesWithParser(content);
+    }
+
+    @Test
+    void testAgreesWithParserOnSubmissions() throws IOException {
+        // the comments of the test submissions and of this module are a mix of code and prose
+        List<String> comments = new ArrayList<>();
+        try (Stream<Path> files = Stream.concat(Files.walk(Path.of("../test_submissions")), Files.walk(Path.of("src")))) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                for (String line : Files.readAllLines(file)) {
+                    int start = line.indexOf("//");
+                    if (start >= 0) {
+                        comments.add(line.substring(start + 2).trim());
+                    }
+                }
+            }
+        }
+
+        assertTrue(comments.size() > 100);
+        comments.forEach(TestCodeCommentClassifier::assertAgreesWithParser);
+    }
+}
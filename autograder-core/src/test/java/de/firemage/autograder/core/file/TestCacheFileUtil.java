@@ -0,0 +1,47 @@
+package de.firemage.autograder.core.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestCacheFileUtil {
+    private static String digestOf(String... values) {
+        MessageDigest digest = CacheFileUtil.createDigest();
+        for (String value : values) {
+            CacheFileUtil.update(digest, value);
+        }
+        return CacheFileUtil.toHex(digest);
+    }
+
+    @Test
+    void testDigestSeparatesValues() {
+        assertEquals(digestOf("ab", "c"), digestOf("ab", "c"));
+        assertNotEquals(digestOf("ab", "c"), digestOf("a", "bc"));
+    }
+
+    @Test
+    void testWriteKeepsPreviousFileOnFailure(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("entries").resolve("cache.bin");
+        CacheFileUtil.writeAtomically(file, outputStream -> outputStream.write("first".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("first", Files.readString(file));
+
+        assertThrows(IOException.class, () -> CacheFileUtil.writeAtomically(file, outputStream -> {
+            outputStream.write("second".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("interrupted");
+        }));
+        assertEquals("first", Files.readString(file));
+        // the temporary file has been removed
+        try (var files = Files.list(file.getParent())) {
+            assertEquals(1, files.count());
+        }
+    }
+}
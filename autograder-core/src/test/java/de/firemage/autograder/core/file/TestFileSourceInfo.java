@@ -3,6 +3,7 @@ package de.firemage.autograder.core.file;
 import de.firemage.autograder.api.JavaVersion;
 import de.firemage.autograder.api.AbstractTempLocation;
 import org.junit.jupiter.api.Test;
+import spoon.support.compiler.VirtualFolder;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -31,4 +32,27 @@ class TestFileSourceInfo {
             }
         }
     }
+
+    @Test
+    void testReadsFilesOnlyOnce() throws IOException {
+        try (AbstractTempLocation folder = tempLocation.createTempDirectory("test")) {
+            Path folderPath = folder.toPath();
+            Path filePath = Paths.get(folderPath.toString(), "Test.java");
+            String content = "public class Test { String text = \"Größe\"; }";
+            Files.write(filePath, content.getBytes(StandardCharsets.UTF_8));
+
+            FileSourceInfo sourceInfo = new FileSourceInfo(folderPath, JavaVersion.JAVA_17);
+            // all consumers use the content that has been read when the source was created
+            Files.delete(filePath);
+
+            CompilationUnit unit = sourceInfo.compilationUnits().get(0);
+            assertEquals(StandardCharsets.UTF_8, unit.charset());
+            assertEquals(content, unit.readString());
+            assertEquals(content, sourceInfo.sources().text(unit.path()));
+
+            VirtualFolder spoonResource = (VirtualFolder) sourceInfo.getSpoonResource();
+            assertEquals(1, spoonResource.getAllJavaFiles().size());
+            assertEquals(filePath.toString(), spoonResource.getAllJavaFiles().get(0).getPath());
+        }
+    }
 }
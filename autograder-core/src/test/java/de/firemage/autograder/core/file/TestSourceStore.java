@@ -0,0 +1,25 @@
+package de.firemage.autograder.core.file;
+
+import de.firemage.autograder.api.JavaVersion;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestSourceStore {
+    @Test
+    void testStoreReadsOnce() throws IOException {
+        SourceInfo source = StringSourceInfo.fromSourceString(JavaVersion.JAVA_17, "a.Test", "package a;\nclass Test {}\n");
+        SourcePath path = SourcePath.of(List.of("a", "Test.java"));
+
+        String text = source.sources().text(path);
+        assertEquals("package a;\nclass Test {}\n", text);
+        assertSame(text, source.sources().text(path));
+        assertSame(source.sources().compilationUnit(path), source.getCompilationUnit(path));
+        assertThrows(IllegalStateException.class, () -> source.getCompilationUnit(SourcePath.of(List.of("Missing.java"))));
+    }
+}
@@ -0,0 +1,148 @@
+package de.firemage.autograder.core.integrated;
+
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.file.StringSourceInfo;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import spoon.reflect.code.CtStatement;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCloneIndex {
+    // the structure is compared, so the comments and the formatting do not matter
+    private static final String SHARED = """
+        public class Test {
+            static int compute(int[] values) {
+                int sum = 0;
+                for (int i = 0; i < values.length; i++) {
+                    %s
+                    if (values[i] > 0) {
+                        sum += values[i];
+                    } else {
+                        sum -= 1;
+                    }
+                }
+                System.out.println(sum);
+                sum *= 2;
+                System.out.println(sum);
+                return sum;
+            }
+        }
+        """;
+
+    private static final String DIFFERENT = """
+        public class Test {
+            static int compute(int[] values) {
+                System.out.println(values.length);
+                return values.length;
+            }
+        }
+        """;
+
+    private static SourceInfo sourceOf(String code) {
+        return StringSourceInfo.fromSourceString(JavaVersion.JAVA_17, "Test", code);
+    }
+
+    private static void add(CloneIndex index, String name, SourceInfo source) {
+        try (UploadedFile file = UploadedFile.build(source, TempLocation.random(), status -> {}, null)) {
+            index.add(name, source, file.getModel().getModel());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CloneIndex createIndex() {
+        CloneIndex index = new CloneIndex(5);
+        add(index, "a", sourceOf(SHARED.formatted("")));
+        add(index, "b", sourceOf(SHARED.formatted("// only the positive values are added")));
+        add(index, "c", sourceOf(DIFFERENT));
+        return index;
+    }
+
+    @Test
+    void testFindsSharedBlocks() {
+        CloneIndex index = createIndex();
+
+        List<CloneIndex.SharedBlock> blocks = index.findSharedBlocks(2, Integer.MAX_VALUE);
+        assertEquals(1, blocks.size());
+        assertEquals(Set.of("a", "b"), blocks.get(0).submissions());
+        // the overlapping windows are merged, the statements after the loop are too small to be a block on their own
+        assertEquals(3, blocks.get(0).occurrences().get(0).startLine());
+        assertEquals(11, blocks.get(0).occurrences().get(0).endLine());
+
+        // the block is ignored if too many submissions share it
+        assertTrue(index.findSharedBlocks(3, Integer.MAX_VALUE).isEmpty());
+        assertTrue(index.findSharedBlocks(2, 1).isEmpty());
+    }
+
+    @Test
+    void testFindSubmissionsContaining() throws Exception {
+        CloneIndex index = createIndex();
+
+        SourceInfo source = sourceOf(SHARED.formatted("/* a comment */"));
+        try (UploadedFile file = UploadedFile.build(source, TempLocation.random(), status -> {}, null)) {
+            List<CtStatement> statements = file.getModel().getModel().getAllTypes().iterator().next()
+                .getMethodsByName("compute").get(0).getBody().getStatements();
+
+            assertEquals(Set.of("a", "b"), index.findSubmissionsContaining(statements.subList(0, 2)));
+            assertEquals(Set.of(), index.findSubmissionsContaining(statements.subList(0, 1)));
+        }
+    }
+
+    @Test
+    void testRenamedVariables() {
+        CloneIndex index = new CloneIndex(5);
+        add(index, "a", sourceOf(SHARED.formatted("")));
+        add(index, "b", sourceOf(SHARED.formatted("")
+            .replace("values", "numbers")
+            .replace("sum", "total")
+            .replace("i]", "j]")
+            .replace("int i = 0; i < numbers.length; i++", "int j = 0; j < numbers.length; j++")));
+
+        List<CloneIndex.SharedBlock> blocks = index.findSharedBlocks(2, Integer.MAX_VALUE);
+        assertEquals(1, blocks.size());
+        assertEquals(Set.of("a", "b"), blocks.get(0).submissions());
+    }
+
+    @Test
+    void testRemoveAndReplace() {
+        CloneIndex index = createIndex();
+
+        add(index, "b", sourceOf(DIFFERENT));
+        assertTrue(index.findSharedBlocks(2, Integer.MAX_VALUE).isEmpty());
+
+        add(index, "c", sourceOf(SHARED.formatted("")));
+        assertEquals(Set.of("a", "c"), index.findSharedBlocks(2, Integer.MAX_VALUE).get(0).submissions());
+
+        index.remove("a");
+        assertEquals(Set.of("b", "c"), index.submissions());
+        assertTrue(index.findSharedBlocks(2, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void testSaveAndLoad(@TempDir Path directory) throws IOException {
+        CloneIndex index = createIndex();
+        Path file = directory.resolve("clones.index");
+        index.save(file);
+
+        CloneIndex loaded = CloneIndex.load(file, 5);
+        assertEquals(index.submissions(), loaded.submissions());
+        assertEquals(index.findSharedBlocks(2, Integer.MAX_VALUE), loaded.findSharedBlocks(2, Integer.MAX_VALUE));
+        assertTrue(loaded.isUpToDate("a", sourceOf(SHARED.formatted(""))));
+        assertFalse(loaded.isUpToDate("a", sourceOf(DIFFERENT)));
+
+        // the windows depend on the minimum size, so the index can not be reused for a different one
+        assertTrue(CloneIndex.load(file, 6).submissions().isEmpty());
+        assertTrue(CloneIndex.load(directory.resolve("missing.index"), 5).submissions().isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package de.firemage.autograder.core.integrated;
+
+import org.junit.jupiter.api.Test;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtType;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestDuplicateCodeFinder {
+    @Test
+    void testMinimumSizeMatchesFilteredDuplicates() throws IOException {
+        try (TypeFixture fixture = TypeFixture.of("""
+                public class Test {
+                    int a(int[] values) {
+                        int sum = 0;
+                        sum += values[0];
+                        if (sum > 2) {
+                            sum -= 2;
+                            System.out.println(sum);
+                        }
+                        for (int i = 0; i < values.length; i++) {
+                            sum += values[i];
+                        }
+                        System.out.println(sum);
+                        return sum;
+                    }
+
+                    int b(int[] values) {
+                        int sum = 0;
+                        sum += values[0];
+                        if (sum > 2) {
+                            sum -= 2;
+                            System.out.println(sum);
+                        }
+                        // the following loop is different
+                        for (int i = 0; i < values.length; i++) {
+                            sum -= values[i];
+                        }
+                        System.out.println(sum);
+                        return sum;
+                    }
+
+                    int c(int[] values) {
+                        int sum = 0;
+                        sum += values[0];
+                        return sum;
+                    }
+                }
+                """)) {
+            CtType<?> type = fixture.type();
+
+            List<CtStatement> statements = type.getElements((CtStatement ctStatement) -> ctStatement.getPosition().isValidPosition() && !ctStatement.isImplicit());
+            boolean hasDuplicates = false;
+            for (CtStatement statement : statements) {
+                List<DuplicateCodeFinder.DuplicateCode> all = DuplicateCodeFinder.findDuplicates(statement);
+                hasDuplicates |= !all.isEmpty();
+
+                for (int minimumSize = 0; minimumSize <= 8; minimumSize++) {
+                    int threshold = minimumSize;
+                    List<DuplicateCodeFinder.DuplicateCode> expected = all.stream()
+                        .filter(duplicate -> duplicate.isMoreThanOrEqualTo(threshold))
+                        .toList();
+
+                    assertEquals(expected, DuplicateCodeFinder.findDuplicates(statement, minimumSize));
+                }
+            }
+
+            assertTrue(hasDuplicates, "The code should contain duplicates");
+        }
+    }
+
+    @Test
+    void testDuplicateEndsAtFirstDifference() throws IOException {
+        try (TypeFixture fixture = TypeFixture.of("""
+                public class Test {
+                    int a(int[] values) {
+                        int sum = 0;
+                        sum += values[0];
+                        sum *= 2;
+                        return sum;
+                    }
+
+                    int b(int[] values) {
+                        int sum = 0;
+                        sum += values[0];
+                        sum *= 3;
+                        return sum;
+                    }
+                }
+                """)) {
+            CtType<?> type = fixture.type();
+
+            CtStatement start = type.getMethodsByName("a").get(0).getBody().getStatement(0);
+            List<DuplicateCodeFinder.DuplicateCode> duplicates = DuplicateCodeFinder.findDuplicates(start);
+
+            assertEquals(1, duplicates.size());
+            assertEquals(2, duplicates.get(0).left().size());
+            assertEquals(type.getMethodsByName("b").get(0).getBody().getStatements().subList(0, 2), duplicates.get(0).right());
+            // each of the statements counts as one
+            assertEquals(2, duplicates.get(0).size());
+        }
+    }
+}
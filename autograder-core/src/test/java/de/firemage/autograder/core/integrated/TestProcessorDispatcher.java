@@ -0,0 +1,133 @@
+package de.firemage.autograder.core.integrated;
+
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.api.LinterException;
+import de.firemage.autograder.core.CodeModel;
+import de.firemage.autograder.core.file.StringSourceInfo;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import org.junit.jupiter.api.Test;
+import spoon.processing.AbstractProcessor;
+import spoon.processing.TraversalStrategy;
+import spoon.reflect.code.CtInvocation;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtVariable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class TestProcessorDispatcher {
+    private final TempLocation tempLocation = TempLocation.random();
+
+    @Test
+    void testVisitsSameElementsAsSeparateTraversals() throws LinterException, IOException {
+        UploadedFile file = UploadedFile.build(StringSourceInfo.fromSourceStrings(JavaVersion.JAVA_17, Map.of(
+            "com.example.Main",
+            """
+                package com.example;
+
+                import java.util.List;
+
+                public class Main {
+                    private final List<String> values = List.of("a", "b");
+
+                    public static void main(String[] args) {
+                        int count = 0;
+                        for (String value : new Main().values) {
+                            if (!value.isEmpty()) {
+                                count += value.length();
+                            }
+                        }
+                        System.out.println(count);
+                    }
+                }
+                """,
+            "com.example.Other",
+            """
+                package com.example;
+
+                class Other {
+                    void run(Runnable runnable) {
+                        runnable.run();
+                    }
+                }
+                """
+        )), this.tempLocation, status -> {
+        }, null);
+        assertNotNull(file, "Could not compile the code");
+        CodeModel model = file.getModel();
+
+        List<RecordingProcessor<?>> separate = createProcessors();
+        for (RecordingProcessor<?> processor : separate) {
+            model.processWith(processor);
+        }
+
+        List<RecordingProcessor<?>> fused = createProcessors();
+        new ProcessorDispatcher(fused).process(model.getModel());
+
+        for (int i = 0; i < separate.size(); i++) {
+            assertFalse(separate.get(i).visited.isEmpty());
+            assertEquals(separate.get(i).visited, fused.get(i).visited);
+            assertEquals(1, fused.get(i).completed);
+        }
+    }
+
+    private static List<RecordingProcessor<?>> createProcessors() {
+        return List.of(
+            new RecordingProcessor<CtInvocation<?>>(TraversalStrategy.PRE_ORDER) {
+                @Override
+                public void process(CtInvocation<?> ctInvocation) {
+                    this.record(ctInvocation);
+                }
+            },
+            new RecordingProcessor<CtVariable<?>>(TraversalStrategy.PRE_ORDER) {
+                @Override
+                public boolean isToBeProcessed(CtVariable<?> ctVariable) {
+                    return !ctVariable.isImplicit();
+                }
+
+                @Override
+                public void process(CtVariable<?> ctVariable) {
+                    this.record(ctVariable);
+                }
+            },
+            new RecordingProcessor<CtStatement>(TraversalStrategy.POST_ORDER) {
+                @Override
+                public void process(CtStatement ctStatement) {
+                    this.record(ctStatement);
+                }
+            }
+        );
+    }
+
+    private abstract static class RecordingProcessor<E extends CtElement> extends AbstractProcessor<E> {
+        private final TraversalStrategy traversalStrategy;
+        private final List<CtElement> visited = new ArrayList<>();
+        private int completed;
+
+        private RecordingProcessor(TraversalStrategy traversalStrategy) {
+            this.traversalStrategy = traversalStrategy;
+        }
+
+        protected void record(CtElement ctElement) {
+            this.visited.add(ctElement);
+        }
+
+        @Override
+        public TraversalStrategy getTraversalStrategy() {
+            return this.traversalStrategy;
+        }
+
+        @Override
+        public void processingDone() {
+            this.completed++;
+        }
+    }
+}
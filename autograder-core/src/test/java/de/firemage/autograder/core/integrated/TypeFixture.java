@@ -0,0 +1,51 @@
+package de.firemage.autograder.core.integrated;
+
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.core.file.StringSourceInfo;
+import de.firemage.autograder.core.file.TempLocation;
+import de.firemage.autograder.core.file.UploadedFile;
+import spoon.reflect.declaration.CtType;
+
+import java.io.IOException;
+
+/**
+ * Builds the model of a single class named {@code Test}, for tests that work on the model directly.
+ * <p>
+ * The type can only be used until the fixture is closed, so it should be created with try-with-resources.
+ */
+public final class TypeFixture implements AutoCloseable {
+    private final TempLocation tempLocation;
+    private final UploadedFile file;
+
+    private TypeFixture(TempLocation tempLocation, UploadedFile file) {
+        this.tempLocation = tempLocation;
+        this.file = file;
+    }
+
+    public static TypeFixture of(String code) {
+        TempLocation tempLocation = TempLocation.random();
+        try {
+            UploadedFile file = UploadedFile.build(
+                StringSourceInfo.fromSourceString(JavaVersion.JAVA_17, "Test", code),
+                tempLocation,
+                status -> {
+                },
+                null
+            );
+            return new TypeFixture(tempLocation, file);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public CtType<?> type() {
+        return this.file.getModel().getModel().getAllTypes().iterator().next();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (TempLocation ignored = this.tempLocation) {
+            this.file.close();
+        }
+    }
+}
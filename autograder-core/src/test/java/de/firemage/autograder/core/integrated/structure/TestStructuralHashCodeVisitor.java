@@ -0,0 +1,99 @@
+package de.firemage.autograder.core.integrated.structure;
+
+import de.firemage.autograder.core.integrated.TypeFixture;
+import org.junit.jupiter.api.Test;
+import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.CtType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TestStructuralHashCodeVisitor {
+    private static List<CtStatement> statementsOf(CtType<?> type, String method) {
+        CtMethod<?> ctMethod = type.getMethodsByName(method).get(0);
+        return ctMethod.getBody().getStatements();
+    }
+
+    @Test
+    void testSinglePassMatchesStandaloneHash() throws IOException {
+        try (TypeFixture fixture = TypeFixture.of("""
+                public class Test {
+                    void a(int[] values) {
+                        for (int i = 0; i < values.length; i++) {
+                            if (values[i] > 0) {
+                                while (values[i] > 10) {
+                                    values[i] -= 1;
+                                }
+                            } else {
+                                System.out.println(values[i]);
+                            }
+                        }
+                    }
+                }
+                """)) {
+            CtType<?> type = fixture.type();
+
+            Map<CtStatement, Long> hashCodes = StructuralHashCodeVisitor.computeHashCodes(type, CtStatement.class);
+            for (CtStatement statement : type.getElements((CtStatement ctStatement) -> true)) {
+                assertEquals(
+                    StructuralHashCodeVisitor.computeStructuralHash(statement),
+                    hashCodes.get(statement),
+                    "Hash of \"%s\" depends on the enclosing element".formatted(statement)
+                );
+            }
+        }
+    }
+
+    @Test
+    void testEqualStructureHasEqualHash() throws IOException {
+        try (TypeFixture fixture = TypeFixture.of("""
+                    public class Test {
+                        void a(int[] values) {
+                            int first = 0;
+                            int sum = 0;
+                            for (int value : values) {
+                                // add the value
+                                sum += value;
+                            }
+                            System.out.println(sum);
+                        }
+
+                        void b(int[] values) {
+                            int second = 0;
+                            int sum = 0;
+                            for (int value : values) { sum += value; }
+                            System.out.println(sum);
+                        }
+
+                        void c(int[] values) {
+                            int third = 0;
+                            int sum = 1;
+                            for (int value : values) {
+                                sum *= value;
+                            }
+                            System.out.println(sum);
+                        }
+                    }
+                    """)) {
+            CtType<?> type = fixture.type();
+
+            List<CtStatement> a = statementsOf(type, "a");
+            List<CtStatement> b = statementsOf(type, "b");
+            List<CtStatement> c = statementsOf(type, "c");
+
+            for (int i = 0; i < a.size(); i++) {
+                assertEquals(new StructuralElement<>(a.get(i)), new StructuralElement<>(b.get(i)));
+                assertEquals(StructuralHashCodeVisitor.computeStructuralHash(a.get(i)), StructuralHashCodeVisitor.computeStructuralHash(b.get(i)));
+            }
+
+            // the loop body differs
+            assertNotEquals(StructuralHashCodeVisitor.computeStructuralHash(b.get(2)), StructuralHashCodeVisitor.computeStructuralHash(c.get(2)));
+            assertNotEquals(new StructuralElement<>(b.get(2)), new StructuralElement<>(c.get(2)));
+        }
+    }
+}
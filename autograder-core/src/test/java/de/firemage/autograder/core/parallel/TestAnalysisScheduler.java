@@ -0,0 +1,107 @@
+package de.firemage.autograder.core.parallel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestAnalysisScheduler {
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 8 })
+    void testResultsAreInTaskOrder(int threads) {
+        List<AnalysisTask<Integer, InterruptedException>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            tasks.add(() -> {
+                // make the early tasks finish last
+                Thread.sleep(50 - value);
+                return value;
+            });
+        }
+
+        try (AnalysisScheduler scheduler = new AnalysisScheduler(threads, null)) {
+            List<Integer> results = scheduler.runAll(tasks.stream().map(TestAnalysisScheduler::uninterruptible).toList());
+
+            for (int i = 0; i < 50; i++) {
+                assertEquals(i, results.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testFirstExceptionInTaskOrderIsThrown() {
+        // the second task fails first, but the exception of the first task should be reported
+        CountDownLatch secondFailed = new CountDownLatch(1);
+        List<AnalysisTask<String, IOException>> tasks = List.of(
+            () -> {
+                awaitUninterruptibly(secondFailed);
+                throw new IOException("first");
+            },
+            () -> {
+                secondFailed.countDown();
+                throw new IOException("second");
+            }
+        );
+
+        try (AnalysisScheduler scheduler = new AnalysisScheduler(2, null)) {
+            assertTrue(scheduler.isParallel());
+            IOException exception = assertThrows(IOException.class, () -> scheduler.runAll(tasks));
+            assertEquals("first", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testRuntimeExceptionIsNotWrapped() {
+        List<AnalysisTask<String, RuntimeException>> tasks = List.of(
+            () -> "ok",
+            () -> {
+                throw new IllegalArgumentException("failed");
+            }
+        );
+
+        try (AnalysisScheduler scheduler = new AnalysisScheduler(4, null)) {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> scheduler.runAll(tasks));
+            assertEquals("failed", exception.getMessage());
+        }
+    }
+
+    @Test
+    void testSingleThreadRunsOnCaller() {
+        Thread caller = Thread.currentThread();
+
+        try (AnalysisScheduler scheduler = new AnalysisScheduler(1, null)) {
+            assertFalse(scheduler.isParallel());
+            List<AnalysisTask<Thread, RuntimeException>> tasks = List.of(Thread::currentThread);
+            assertEquals(List.of(caller), scheduler.runAll(tasks));
+        }
+    }
+
+    private static <T> AnalysisTask<T, RuntimeException> uninterruptible(AnalysisTask<T, InterruptedException> task) {
+        return () -> {
+            try {
+                return task.run();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+        };
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
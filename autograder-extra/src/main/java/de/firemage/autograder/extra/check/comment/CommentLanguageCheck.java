@@ -6,6 +6,7 @@ import com.github.pemistahl.lingua.api.LanguageDetectorBuilder;
 import de.firemage.autograder.core.CodePosition;
 import de.firemage.autograder.core.LocalizedMessage;
 import de.firemage.autograder.core.ProblemType;
+import de.firemage.autograder.core.ResourceRegistry;
 import de.firemage.autograder.core.check.ExecutableCheck;
 import de.firemage.autograder.core.integrated.IntegratedCheck;
 import de.firemage.autograder.core.integrated.IntegratedInCodeProblem;
@@ -36,8 +37,14 @@ public class CommentLanguageCheck extends IntegratedCheck {
 
     public CommentLanguageCheck(double threshold) {
         super();
-        this.detector = LanguageDetectorBuilder.fromLanguages(SUPPORTED_LANGUAGES.toArray(new Language[0]))
+        // building the detector and loading its language models is expensive, so it is shared by all instances
+        this.detector = ResourceRegistry.global().get(LanguageDetector.class, threshold, CommentLanguageCheck::buildDetector);
+    }
+
+    private static LanguageDetector buildDetector(double threshold) {
+        return LanguageDetectorBuilder.fromLanguages(SUPPORTED_LANGUAGES.toArray(new Language[0]))
             .withMinimumRelativeDistance(threshold)
+            .withPreloadedLanguageModels()
             .build();
     }
 
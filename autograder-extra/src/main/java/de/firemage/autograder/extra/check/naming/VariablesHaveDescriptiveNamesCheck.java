@@ -269,6 +269,9 @@ public class VariablesHaveDescriptiveNamesCheck extends IntegratedCheck {
 
     @Override
     protected void check(StaticAnalysis staticAnalysis) {
+        // the check instance might be reused for multiple submissions
+        this.similarIdentifier.clear();
+
         staticAnalysis.processWith(new AbstractProcessor<CtVariable<?>>() {
             @Override
             public void process(CtVariable<?> ctVariable) {
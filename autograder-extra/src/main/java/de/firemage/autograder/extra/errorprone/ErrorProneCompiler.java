@@ -4,17 +4,21 @@ import de.firemage.autograder.core.compiler.CompilerProvider;
 import de.firemage.autograder.core.file.CompilationUnit;
 import de.firemage.autograder.core.file.SourceInfo;
 import de.firemage.autograder.api.JavaVersion;
-import de.firemage.autograder.api.AbstractTempLocation;
 
 import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.StringWriter;
+import java.net.URI;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
@@ -26,8 +30,7 @@ import java.util.stream.Stream;
  * @param javaVersion the java version with which to compile
  * @param lints       the lints that should be emitted
  */
-record ErrorProneCompiler(JavaVersion javaVersion, AbstractTempLocation tempLocation,
-                          List<ErrorProneLint> lints) implements Serializable {
+record ErrorProneCompiler(JavaVersion javaVersion, List<ErrorProneLint> lints) implements Serializable {
     /**
      * Compiles the given source files and returns the emitted lints.
      *
@@ -48,26 +51,20 @@ record ErrorProneCompiler(JavaVersion javaVersion, AbstractTempLocation tempLoca
         // The problem is that the JavaCompiler does not support the -J flag and instead
         // inherits the exports from the JVM it is running in. Autograder will obviously
         // not have these flags set, so instead of requiring them (would be annoying for
-        // all contributors and IDE setup), a new JVM is launched with the flags set.
-        VMLauncher vmLauncher = VMLauncher.fromDefault(this.tempLocation);
-
-        // use explicit type, so it is serializable
-        ArrayList<ErrorProneDiagnostic> diagnostics;
-        try {
-            diagnostics = vmLauncher
-                .runInNewJVM(() -> new ArrayList<>(this.internalCompile(input)))
-                // wait for the compiler to finish
-                .join();
-        } catch (InterruptedException exception) {
-            // not sure how to handle InterruptedException, so just do something and hope it never happens
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("unreachable");
-        }
-
-        return diagnostics;
+        // all contributors and IDE setup), the code is compiled in a JVM with the flags set.
+        //
+        // Launching that JVM is expensive, so it is reused for later compilations.
+        return ErrorProneWorker.compile(this, input);
     }
 
-    private List<ErrorProneDiagnostic> internalCompile(SourceInfo input) throws IOException {
+    /**
+     * Compiles the given source files in this JVM, which must have been launched with the exports needed by error-prone.
+     *
+     * @param input the source code to compile
+     * @return the emitted lints
+     * @throws IOException if the compilation failed
+     */
+    List<ErrorProneDiagnostic> compileInCurrentVM(SourceInfo input) throws IOException {
         List<CompilationUnit> compilationUnits = input.compilationUnits();
         // TODO: charset should be for each file individually
         Charset charset = compilationUnits.get(0).charset();
@@ -80,31 +77,26 @@ record ErrorProneCompiler(JavaVersion javaVersion, AbstractTempLocation tempLoca
         DiagnosticCollector<JavaFileObject> diagnosticCollector = new DiagnosticCollector<>();
         StringWriter output = new StringWriter();
 
-        boolean isSuccessful;
-        try (AbstractTempLocation tempLocation = this.tempLocation.createTempDirectory("classes")) {
-            isSuccessful = compiler.getTask(
-                output,
-                compiler.getStandardFileManager(diagnosticCollector, Locale.US, charset),
-                diagnosticCollector,
-                List.of(
-                    "-processorpath",
-                    System.getProperty("java.class.path"),
-                    "-d", // write class files to a temporary directory
-                    tempLocation.toPath().toString(),
-                    "-XDcompilePolicy=simple",
-                    Stream.concat(
-                            Stream.of(
-                                "-Xplugin:ErrorProne",
-                                "-XepDisableAllChecks"
-                            ),
-                            this.lints.stream().map("-Xep:%s:WARN"::formatted)
-                        )
-                        .collect(Collectors.joining(" "))
-                ),
-                null,
-                compilationUnits.stream().map(CompilationUnit::toJavaFileObject).toList()
-            ).call();
-        }
+        boolean isSuccessful = compiler.getTask(
+            output,
+            new DiscardingClassFileManager(compiler.getStandardFileManager(diagnosticCollector, Locale.US, charset)),
+            diagnosticCollector,
+            List.of(
+                "-processorpath",
+                System.getProperty("java.class.path"),
+                "-XDcompilePolicy=simple",
+                Stream.concat(
+                        Stream.of(
+                            "-Xplugin:ErrorProne",
+                            "-XepDisableAllChecks"
+                        ),
+                        this.lints.stream().map("-Xep:%s:WARN"::formatted)
+                    )
+                    .collect(Collectors.joining(" "))
+            ),
+            null,
+            compilationUnits.stream().map(CompilationUnit::toJavaFileObject).toList()
+        ).call();
 
         output.flush();
         output.close();
@@ -120,4 +112,23 @@ record ErrorProneCompiler(JavaVersion javaVersion, AbstractTempLocation tempLoca
             .map(diagnostic -> ErrorProneDiagnostic.from(diagnostic, input))
             .toList();
     }
+
+    /**
+     * Only the lints are needed, so the class files are discarded instead of being written to a temporary directory.
+     */
+    private static final class DiscardingClassFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private DiscardingClassFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("discarded:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+        }
+    }
 }
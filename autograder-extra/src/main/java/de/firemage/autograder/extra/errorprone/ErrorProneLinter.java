@@ -6,8 +6,8 @@ import de.firemage.autograder.core.LinterStatus;
 import de.firemage.autograder.core.Problem;
 import de.firemage.autograder.core.file.SourceInfo;
 import de.firemage.autograder.core.check.Check;
-import de.firemage.autograder.api.AbstractTempLocation;
 import de.firemage.autograder.core.file.UploadedFile;
+import de.firemage.autograder.core.parallel.AnalysisScheduler;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -25,8 +25,8 @@ public class ErrorProneLinter implements CodeLinter<ErrorProneCheck> {
 
     public List<Problem> lint(
         UploadedFile submission,
-        AbstractTempLocation tempLocation,
         ClassLoader classLoader,
+        AnalysisScheduler scheduler,
         List<ErrorProneCheck> checks,
         Consumer<Translatable> statusConsumer
     ) throws IOException {
@@ -51,11 +51,7 @@ public class ErrorProneLinter implements CodeLinter<ErrorProneCheck> {
 
         SourceInfo code = submission.getSource();
 
-        ErrorProneCompiler compiler = new ErrorProneCompiler(
-            code.getVersion(),
-            tempLocation,
-            lints
-        );
+        ErrorProneCompiler compiler = new ErrorProneCompiler(code.getVersion(), lints);
 
         List<ErrorProneDiagnostic> diagnostics = compiler.compile(code);
 
@@ -0,0 +1,175 @@
+package de.firemage.autograder.extra.errorprone;
+
+import de.firemage.autograder.core.file.SourceInfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A JVM that runs error-prone for multiple submissions.
+ * <p>
+ * Starting a JVM and loading the compiler with error-prone takes a few seconds, which is more than
+ * error-prone needs for most submissions. Therefore, the workers are kept alive after a compilation
+ * and reused for the next one.
+ * <p>
+ * The requests are sent to the standard input of the worker and the results are read from its
+ * standard output. A worker exits when its standard input is closed, which happens at the latest
+ * when this JVM exits.
+ */
+final class ErrorProneWorker implements AutoCloseable {
+    // every worker is a JVM with a loaded compiler, so only a few of them are kept, even if more have been
+    // needed at the same time
+    private static final int MAX_IDLE_WORKERS = 2;
+    private static final Deque<ErrorProneWorker> IDLE_WORKERS = new ArrayDeque<>();
+
+    private final Process process;
+    private final ObjectOutputStream output;
+    private final ObjectInputStream input;
+    private boolean isBroken;
+
+    private ErrorProneWorker(Process process) throws IOException {
+        this.process = process;
+        this.output = new ObjectOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        this.output.flush();
+        // blocks until the worker has started
+        this.input = new ObjectInputStream(new BufferedInputStream(process.getInputStream()));
+        this.isBroken = false;
+    }
+
+    /**
+     * Compiles the given source code with error-prone in one of the workers.
+     *
+     * @param compiler the compiler configuration
+     * @param input the source code to compile
+     * @return the emitted lints
+     * @throws IOException if the communication with the worker failed
+     */
+    static List<ErrorProneDiagnostic> compile(ErrorProneCompiler compiler, SourceInfo input) throws IOException {
+        ErrorProneWorker worker = acquire();
+        try {
+            return worker.send(new Request(compiler, input));
+        } finally {
+            release(worker);
+        }
+    }
+
+    private static ErrorProneWorker acquire() throws IOException {
+        synchronized (IDLE_WORKERS) {
+            while (!IDLE_WORKERS.isEmpty()) {
+                ErrorProneWorker worker = IDLE_WORKERS.pop();
+                if (worker.process.isAlive()) {
+                    return worker;
+                }
+
+                worker.close();
+            }
+        }
+
+        return new ErrorProneWorker(VMLauncher.fromDefault().startJVM(WorkerMain.class));
+    }
+
+    private static void release(ErrorProneWorker worker) {
+        synchronized (IDLE_WORKERS) {
+            if (!worker.isBroken && IDLE_WORKERS.size() < MAX_IDLE_WORKERS) {
+                IDLE_WORKERS.push(worker);
+                return;
+            }
+        }
+
+        worker.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ErrorProneDiagnostic> send(Request request) throws IOException {
+        Object response;
+        try {
+            this.output.writeObject(request);
+            // the worker should not keep the previous requests alive
+            this.output.reset();
+            this.output.flush();
+
+            response = this.input.readObject();
+        } catch (IOException | ClassNotFoundException exception) {
+            this.isBroken = true;
+            throw new IOException("Failed to communicate with the error-prone worker", exception);
+        }
+
+        if (response instanceof Failure failure) {
+            throw new IllegalStateException("Failed to run error-prone: " + failure.stackTrace());
+        }
+
+        return (List<ErrorProneDiagnostic>) response;
+    }
+
+    @Override
+    public void close() {
+        try {
+            // the worker exits once it reaches the end of its input
+            this.output.close();
+        } catch (IOException exception) {
+            this.isBroken = true;
+        }
+
+        if (this.isBroken) {
+            this.process.destroyForcibly();
+        }
+    }
+
+    private record Request(ErrorProneCompiler compiler, SourceInfo input) implements Serializable {
+    }
+
+    private record Failure(String stackTrace) implements Serializable {
+    }
+
+    static final class WorkerMain {
+        private WorkerMain() {
+        }
+
+        public static void main(String[] args) throws IOException, ClassNotFoundException {
+            // the standard output is reserved for the results, everything else is printed to the standard error
+            ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+            System.setOut(System.err);
+            output.flush();
+
+            ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(System.in));
+            while (true) {
+                Request request;
+                try {
+                    request = (Request) input.readObject();
+                } catch (EOFException exception) {
+                    // there will be no more requests
+                    return;
+                }
+
+                Serializable response;
+                try {
+                    // use explicit type, so it is serializable
+                    response = new ArrayList<>(request.compiler().compileInCurrentVM(request.input()));
+                } catch (Exception exception) {
+                    exception.printStackTrace();
+
+                    StringWriter stackTrace = new StringWriter();
+                    exception.printStackTrace(new PrintWriter(stackTrace));
+                    response = new Failure(stackTrace.toString());
+                }
+
+                output.writeObject(response);
+                output.reset();
+                output.flush();
+            }
+        }
+    }
+}
@@ -1,8 +0,0 @@
-package de.firemage.autograder.extra.errorprone;
-
-import java.io.Serializable;
-
-@FunctionalInterface
-public interface SerializableSupplier<T extends Serializable> extends Serializable {
-    T get() throws Exception;
-}
@@ -0,0 +1,231 @@
+package de.firemage.autograder.extra.pmd;
+
+import de.firemage.autograder.core.file.CacheFileUtil;
+import net.sourceforge.pmd.PMDVersion;
+import net.sourceforge.pmd.lang.LanguageVersion;
+import net.sourceforge.pmd.lang.document.FileId;
+import net.sourceforge.pmd.lang.document.FileLocation;
+import net.sourceforge.pmd.lang.document.TextFile;
+import net.sourceforge.pmd.lang.document.TextRange2d;
+import net.sourceforge.pmd.lang.rule.Rule;
+import net.sourceforge.pmd.reporting.FileAnalysisListener;
+import net.sourceforge.pmd.reporting.GlobalAnalysisListener;
+import net.sourceforge.pmd.reporting.Report;
+import net.sourceforge.pmd.reporting.RuleViolation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A cache for the violations that PMD found in a file, which is persisted in a directory.
+ * <p>
+ * The entries are keyed by a hash of the content of the file, the java version, the rules and the versions of
+ * the autograder and PMD, so the violations of an unchanged file are reused even if the file is part of another
+ * submission. An entry that can not be read is treated as if it does not exist.
+ * <p>
+ * The cached violations only contain what the checks use to create their problems, which is the rule,
+ * the description, the position and the additional info of the violation.
+ */
+final class PMDCache {
+    private static final Logger LOG = LoggerFactory.getLogger(PMDCache.class);
+    // must be incremented when the format of the entries changes
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_EXTENSION = ".pmd";
+
+    private final Path directory;
+
+    PMDCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Computes the key of the entry for a file.
+     *
+     * @param rulesFingerprint identifies the rules that are executed and the checks they belong to
+     * @param languageVersion the java version of the file
+     * @param content the content of the file
+     * @return the key
+     */
+    static String computeKey(String rulesFingerprint, LanguageVersion languageVersion, String content) {
+        MessageDigest digest = CacheFileUtil.createDigest();
+
+        CacheFileUtil.update(digest, String.valueOf(FORMAT_VERSION));
+        CacheFileUtil.update(digest, String.valueOf(PMDCache.class.getPackage().getImplementationVersion()));
+        CacheFileUtil.update(digest, PMDVersion.VERSION);
+        CacheFileUtil.update(digest, languageVersion.getTerseName());
+        CacheFileUtil.update(digest, rulesFingerprint);
+        CacheFileUtil.update(digest, content);
+
+        return CacheFileUtil.toHex(digest);
+    }
+
+    /**
+     * Tries to restore the violations of a file.
+     *
+     * @param key the key of the file
+     * @param fileId the id of the file in the current analysis, the restored violations are located in this file
+     * @param rules the rules of the current analysis by their name
+     * @return the violations in the order in which PMD renders them or an empty optional if there is no valid entry
+     */
+    Optional<List<RuleViolation>> load(String key, FileId fileId, Map<String, Rule> rules) {
+        Path file = this.entryFor(key);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int count = input.readInt();
+            List<RuleViolation> violations = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Rule rule = rules.get(input.readUTF());
+                String description = input.readUTF();
+                TextRange2d range = TextRange2d.range2d(input.readInt(), input.readInt(), input.readInt(), input.readInt());
+
+                int infoCount = input.readInt();
+                Map<String, String> additionalInfo = new LinkedHashMap<>();
+                for (int j = 0; j < infoCount; j++) {
+                    additionalInfo.put(input.readUTF(), input.readUTF());
+                }
+
+                if (rule == null) {
+                    throw new IOException("The entry references an unknown rule");
+                }
+
+                violations.add(new CachedViolation(rule, description, FileLocation.range(fileId, range), additionalInfo));
+            }
+
+            return Optional.of(violations);
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("Failed to restore the cached PMD violations '{}', the file will be analyzed again", file, exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the violations of a file in the cache.
+     * <p>
+     * Failing to store the violations is not an error, it only means that the file has to be analyzed again next time.
+     *
+     * @param key the key of the file
+     * @param violations the violations in the order in which PMD renders them
+     */
+    void store(String key, List<RuleViolation> violations) {
+        Path file = this.entryFor(key);
+        try {
+            CacheFileUtil.writeAtomically(file, outputStream -> {
+                try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+                    output.writeInt(violations.size());
+                    for (RuleViolation violation : violations) {
+                        output.writeUTF(violation.getRule().getName());
+                        output.writeUTF(violation.getDescription());
+                        output.writeInt(violation.getBeginLine());
+                        output.writeInt(violation.getBeginColumn());
+                        output.writeInt(violation.getEndLine());
+                        output.writeInt(violation.getEndColumn());
+
+                        output.writeInt(violation.getAdditionalInfo().size());
+                        for (Map.Entry<String, String> entry : violation.getAdditionalInfo().entrySet()) {
+                            output.writeUTF(entry.getKey());
+                            output.writeUTF(entry.getValue());
+                        }
+                    }
+                }
+            });
+        } catch (IOException | RuntimeException exception) {
+            LOG.warn("Failed to store the PMD violations in '{}'", file, exception);
+        }
+    }
+
+    /**
+     * Creates a listener that stores the violations of every analyzed file, which has been analyzed without errors.
+     *
+     * @param keys the keys of the analyzed files by the original path of their id
+     * @return the listener, which must be added to the analysis
+     */
+    GlobalAnalysisListener recorder(Map<String, String> keys) {
+        return new GlobalAnalysisListener() {
+            @Override
+            public FileAnalysisListener startFileAnalysis(TextFile textFile) {
+                String key = keys.get(textFile.getFileId().getOriginalPath());
+                if (key == null) {
+                    return FileAnalysisListener.noop();
+                }
+
+                // every file is analyzed by a single thread
+                List<RuleViolation> violations = new ArrayList<>();
+                return new FileAnalysisListener() {
+                    private boolean hasFailed;
+
+                    @Override
+                    public void onRuleViolation(RuleViolation violation) {
+                        // the report that is passed to the renderer inserts the violations in the same way
+                        int index = Collections.binarySearch(violations, violation, RuleViolation.DEFAULT_COMPARATOR);
+                        violations.add(index >= 0 ? index : -index - 1, violation);
+                    }
+
+                    @Override
+                    public void onError(Report.ProcessingError error) {
+                        this.hasFailed = true;
+                    }
+
+                    @Override
+                    public void close() {
+                        if (!this.hasFailed) {
+                            PMDCache.this.store(key, violations);
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public void close() {
+                // the entries are stored when the analysis of a file has been completed
+            }
+        };
+    }
+
+    private Path entryFor(String key) {
+        return this.directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private record CachedViolation(
+        Rule rule,
+        String description,
+        FileLocation location,
+        Map<String, String> additionalInfo
+    ) implements RuleViolation {
+        @Override
+        public Rule getRule() {
+            return this.rule;
+        }
+
+        @Override
+        public String getDescription() {
+            return this.description;
+        }
+
+        @Override
+        public FileLocation getLocation() {
+            return this.location;
+        }
+
+        @Override
+        public Map<String, String> getAdditionalInfo() {
+            return this.additionalInfo;
+        }
+    }
+}
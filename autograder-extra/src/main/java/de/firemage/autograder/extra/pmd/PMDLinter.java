@@ -4,80 +4,53 @@ import de.firemage.autograder.api.Translatable;
 import de.firemage.autograder.core.CodeLinter;
 import de.firemage.autograder.core.LinterStatus;
 import de.firemage.autograder.core.Problem;
-import de.firemage.autograder.core.file.CompilationUnit;
-import de.firemage.autograder.api.AbstractTempLocation;
 import de.firemage.autograder.core.file.UploadedFile;
-import net.sourceforge.pmd.PMDConfiguration;
-import net.sourceforge.pmd.PmdAnalysis;
-import net.sourceforge.pmd.lang.rule.Rule;
-import net.sourceforge.pmd.lang.rule.RulePriority;
-import net.sourceforge.pmd.lang.rule.RuleSet;
+import de.firemage.autograder.core.parallel.AnalysisScheduler;
 import net.sourceforge.pmd.lang.Language;
 import net.sourceforge.pmd.lang.LanguageRegistry;
-import net.sourceforge.pmd.lang.document.FileCollector;
-import net.sourceforge.pmd.lang.document.FileId;
+import net.sourceforge.pmd.lang.LanguageVersion;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
 public class PMDLinter implements CodeLinter<PMDCheck> {
     private static final Language JAVA_LANGUAGE = LanguageRegistry.PMD.getLanguageById("java");
 
+    private PMDSession session;
+    private PMDCache cache;
+
     @Override
     public Class<PMDCheck> supportedCheckType() {
         return PMDCheck.class;
     }
 
+    @Override
+    public void enableCache(Path directory) {
+        this.cache = new PMDCache(directory);
+    }
+
     @Override
     public List<Problem> lint(
         UploadedFile submission,
-        AbstractTempLocation tempLocation,
         ClassLoader classLoader,
+        AnalysisScheduler scheduler,
         List<PMDCheck> checks,
         Consumer<Translatable> statusConsumer
     ) throws IOException {
         statusConsumer.accept(LinterStatus.RUNNING_PMD.getMessage());
 
-        PMDConfiguration config = new PMDConfiguration();
-
-        config.setMinimumPriority(RulePriority.LOW);
-        config.setIgnoreIncrementalAnalysis(true);
-        config.setClassLoader(classLoader);
-        config.setDefaultLanguageVersion(JAVA_LANGUAGE.getVersion(submission.getSource().getVersion().getVersionString()));
-
-        Map<String, PMDCheck> idMap = new HashMap<>();
-        List<Rule> rules = new ArrayList<>();
-
-        int idCounter = 0;
-        for (PMDCheck check : checks) {
-            for (Rule rule : check.getRules()) {
-                String id = String.valueOf(idCounter++);
-                rule.setName(id);
-                idMap.put(id, check);
-                rules.add(rule);
-            }
-        }
-
-        ProblemRenderer renderer = new ProblemRenderer(idMap, submission.getSource());
-
-        try (PmdAnalysis pmd = PmdAnalysis.create(config)) {
-            pmd.addRuleSet(RuleSet.create("Autograder Configuration (Generated)", "", null, List.of(), List.of(), rules));
-            pmd.addRenderer(renderer);
-            FileCollector collector = pmd.files();
-            for (CompilationUnit compilationUnit : submission.getSource().compilationUnits()) {
-                collector.addSourceFile(
-                    FileId.fromPathLikeString(submission.getSource().path().resolve(compilationUnit.path().toPath()).toString()),
-                    compilationUnit.readString()
-                );
-            }
+        LanguageVersion languageVersion = JAVA_LANGUAGE.getVersion(submission.getSource().getVersion().getVersionString());
 
-            pmd.performAnalysis();
+        // PMD analyzes the files on the calling thread, while the integrated checks run on the scheduler
+        PMDSession session = this.session;
+        if (session == null || !session.isFor(checks, languageVersion, classLoader)) {
+            // the linter keeps the same checks for all submissions with the same configuration
+            session = new PMDSession(checks, languageVersion, classLoader);
+            this.session = session;
         }
 
-        return renderer.getProblems();
+        return session.analyze(submission.getSource(), this.cache);
     }
 }
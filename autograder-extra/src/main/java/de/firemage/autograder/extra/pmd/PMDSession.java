@@ -0,0 +1,162 @@
+package de.firemage.autograder.extra.pmd;
+
+import de.firemage.autograder.core.Problem;
+import de.firemage.autograder.core.file.CompilationUnit;
+import de.firemage.autograder.core.file.SourceInfo;
+import net.sourceforge.pmd.PMDConfiguration;
+import net.sourceforge.pmd.PmdAnalysis;
+import net.sourceforge.pmd.lang.LanguageVersion;
+import net.sourceforge.pmd.lang.document.FileCollector;
+import net.sourceforge.pmd.lang.document.FileId;
+import net.sourceforge.pmd.lang.rule.Rule;
+import net.sourceforge.pmd.lang.rule.RulePriority;
+import net.sourceforge.pmd.lang.rule.RuleSet;
+import net.sourceforge.pmd.reporting.RuleViolation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The PMD configuration and rule set for a list of checks, which can be used to analyze multiple submissions.
+ * <p>
+ * The rules of the checks are renamed, so that a violation can be mapped back to its check. Therefore, a check
+ * must not be used by more than one session at a time.
+ */
+final class PMDSession {
+    private final List<PMDCheck> checks;
+    private final LanguageVersion languageVersion;
+    private final ClassLoader classLoader;
+
+    private final PMDConfiguration config;
+    private final RuleSet ruleSet;
+    private final Map<String, PMDCheck> idMap;
+    private final Map<String, Rule> ruleMap;
+    private final String rulesFingerprint;
+
+    /**
+     * Creates a new session.
+     *
+     * @param checks the checks whose rules are executed
+     * @param languageVersion the java version of the submissions
+     * @param classLoader the class loader that is used for type resolution
+     */
+    PMDSession(List<PMDCheck> checks, LanguageVersion languageVersion, ClassLoader classLoader) {
+        this.checks = List.copyOf(checks);
+        this.languageVersion = languageVersion;
+        this.classLoader = classLoader;
+
+        this.config = new PMDConfiguration();
+        this.config.setMinimumPriority(RulePriority.LOW);
+        // the incremental analysis of PMD is keyed by the path of the files, they are cached by PMDCache instead
+        this.config.setIgnoreIncrementalAnalysis(true);
+        this.config.setClassLoader(classLoader);
+        this.config.setDefaultLanguageVersion(languageVersion);
+        // PMD would start its own threads otherwise, in addition to the threads of the analysis scheduler
+        this.config.setThreads(0);
+
+        this.idMap = new HashMap<>();
+        this.ruleMap = new HashMap<>();
+        List<Rule> rules = new ArrayList<>();
+        StringBuilder checkNames = new StringBuilder();
+
+        int idCounter = 0;
+        for (PMDCheck check : checks) {
+            for (Rule rule : check.getRules()) {
+                String id = String.valueOf(idCounter++);
+                rule.setName(id);
+                this.idMap.put(id, check);
+                this.ruleMap.put(id, rule);
+                rules.add(rule);
+            }
+
+            checkNames.append(check.getClass().getName()).append(':').append(check.getRules().size()).append(';');
+        }
+
+        this.ruleSet = RuleSet.create("Autograder Configuration (Generated)", "", null, List.of(), List.of(), rules);
+        // the checksum covers the rules and their properties, the names of the checks determine the ids of the rules
+        this.rulesFingerprint = this.ruleSet.getChecksum() + ";" + checkNames;
+    }
+
+    /**
+     * Checks whether this session has been created with the given parameters.
+     * <p>
+     * The checks are compared by identity, new instances of the same checks require a new session.
+     *
+     * @param checks the checks
+     * @param languageVersion the java version of the submissions
+     * @param classLoader the class loader that is used for type resolution
+     * @return true if the session can be used for the parameters
+     */
+    boolean isFor(List<PMDCheck> checks, LanguageVersion languageVersion, ClassLoader classLoader) {
+        if (checks.size() != this.checks.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < checks.size(); i++) {
+            if (checks.get(i) != this.checks.get(i)) {
+                return false;
+            }
+        }
+
+        return this.languageVersion.equals(languageVersion) && this.classLoader == classLoader;
+    }
+
+    /**
+     * Analyzes all files of the given source.
+     *
+     * @param source the source to analyze
+     * @param cache the violations of the files that are in this cache are not computed again, might be null
+     * @return the problems found by the checks, sorted by file
+     * @throws IOException if the source could not be read
+     */
+    List<Problem> analyze(SourceInfo source, PMDCache cache) throws IOException {
+        ProblemRenderer renderer = new ProblemRenderer(this.idMap, source);
+
+        // the files that have to be analyzed by PMD with their content
+        Map<FileId, String> files = new LinkedHashMap<>();
+        // the keys of the files that are not in the cache by the path of their id
+        Map<String, String> missingKeys = new HashMap<>();
+        for (CompilationUnit compilationUnit : source.compilationUnits()) {
+            FileId fileId = FileId.fromPathLikeString(source.path().resolve(compilationUnit.path().toPath()).toString());
+            // the content has already been decoded for the other linters
+            String content = source.sources().text(compilationUnit.path());
+
+            if (cache != null) {
+                String key = PMDCache.computeKey(this.rulesFingerprint, this.languageVersion, content);
+                Optional<List<RuleViolation>> violations = cache.load(key, fileId, this.ruleMap);
+                if (violations.isPresent()) {
+                    renderer.renderFileViolations(violations.get().iterator());
+                    continue;
+                }
+
+                missingKeys.put(fileId.getOriginalPath(), key);
+            }
+
+            files.put(fileId, content);
+        }
+
+        if (files.isEmpty()) {
+            return renderer.getProblems();
+        }
+
+        try (PmdAnalysis pmd = PmdAnalysis.create(this.config)) {
+            pmd.addRuleSet(this.ruleSet);
+            pmd.addRenderer(renderer);
+            if (cache != null) {
+                pmd.addListener(cache.recorder(missingKeys));
+            }
+
+            FileCollector collector = pmd.files();
+            files.forEach(collector::addSourceFile);
+
+            pmd.performAnalysis();
+        }
+
+        return renderer.getProblems();
+    }
+}
@@ -11,17 +11,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 public class ProblemRenderer extends AbstractIncrementingRenderer {
     private static final Logger LOG = LoggerFactory.getLogger(FileSourceInfo.class);
 
     private final SourceInfo sourceInfo;
     private final Map<String, PMDCheck> checks;
-    private final List<Problem> problems = new ArrayList<>();
+    // the violations of cached files are rendered before the analyzed files, so the problems are sorted by file to keep the order stable
+    private final Map<String, List<Problem>> problems = new TreeMap<>();
 
     public ProblemRenderer(Map<String, PMDCheck> checks, SourceInfo sourceInfo) {
         super("Custom renderer", "Creates InCodeProblems");
@@ -32,11 +33,13 @@ public class ProblemRenderer extends AbstractIncrementingRenderer {
 
     @Override
     public void renderFileViolations(Iterator<RuleViolation> violations) {
+        // PMD does not call this method concurrently
         violations.forEachRemaining(violation -> {
             // NOTE: the caller of this method catches all exceptions, so if something crashes, it will not be
             //       visible without that printStackTrace
             try {
-                this.problems.add(new PMDInCodeProblem(this.checks.get(violation.getRule().getName()), violation, sourceInfo));
+                this.problems.computeIfAbsent(violation.getFileId().getAbsolutePath(), key -> new ArrayList<>())
+                    .add(new PMDInCodeProblem(this.checks.get(violation.getRule().getName()), violation, sourceInfo));
             } catch (Exception exception) {
                 exception.printStackTrace();
                 // make sure the program stops running
@@ -70,6 +73,6 @@ public class ProblemRenderer extends AbstractIncrementingRenderer {
     }
 
     public List<Problem> getProblems() {
-        return Collections.unmodifiableList(this.problems);
+        return this.problems.values().stream().flatMap(List::stream).toList();
     }
 }
@@ -0,0 +1,50 @@
+package de.firemage.autograder.extra.check;
+
+import de.firemage.autograder.api.loader.ImplementationIndex;
+import de.firemage.autograder.core.CodeLinter;
+import de.firemage.autograder.core.ProblemType;
+import de.firemage.autograder.core.check.ExecutableCheck;
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestCheckIndex {
+    private static final ClassLoader CLASS_LOADER = TestCheckIndex.class.getClassLoader();
+    private final Reflections reflections = new Reflections("de.firemage.autograder");
+
+    @Test
+    void testIndexContainsAllChecks() {
+        Map<String, List<String>> expected = new TreeMap<>();
+        for (Class<?> check : this.reflections.getTypesAnnotatedWith(ExecutableCheck.class)) {
+            ExecutableCheck annotation = check.getAnnotation(ExecutableCheck.class);
+            if (annotation.enabled()) {
+                expected.put(check.getName(), Arrays.stream(annotation.reportedProblems()).map(ProblemType::name).toList());
+            }
+        }
+
+        Map<String, List<String>> actual = ImplementationIndex.findChecks(CLASS_LOADER).orElseThrow();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testIndexContainsAllCodeLinters() {
+        List<String> expected = this.reflections.getSubTypesOf(CodeLinter.class)
+            .stream()
+            .filter(type -> !Modifier.isAbstract(type.getModifiers()))
+            .map(Class::getName)
+            .sorted()
+            .toList();
+
+        List<String> actual = ImplementationIndex.findImplementations(CodeLinter.class, CLASS_LOADER).orElseThrow();
+        assertEquals(expected, actual);
+        assertTrue(actual.size() > 1);
+    }
+}
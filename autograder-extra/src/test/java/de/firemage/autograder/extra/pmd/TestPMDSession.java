@@ -0,0 +1,103 @@
+package de.firemage.autograder.extra.pmd;
+
+import de.firemage.autograder.api.JavaVersion;
+import de.firemage.autograder.core.Problem;
+import de.firemage.autograder.core.file.SourceInfo;
+import de.firemage.autograder.core.file.StringSourceInfo;
+import de.firemage.autograder.extra.check.complexity.DiamondOperatorCheck;
+import net.sourceforge.pmd.lang.LanguageRegistry;
+import net.sourceforge.pmd.lang.LanguageVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestPMDSession {
+    private static final LanguageVersion LANGUAGE_VERSION = LanguageRegistry.PMD.getLanguageById("java").getVersion("17");
+
+    private static SourceInfo createSource() {
+        return createSource(8);
+    }
+
+    private static SourceInfo createSource(int count) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            sources.put("Example" + i, """
+                import java.util.ArrayList;
+                import java.util.List;
+
+                public class Example%d {
+                    public static void main(String[] args) {
+                        List<String> first = new ArrayList<String>();
+                        List<String> second = new ArrayList<String>();
+                    }
+                }
+                """.formatted(i));
+        }
+
+        return StringSourceInfo.fromSourceStrings(JavaVersion.JAVA_17, sources);
+    }
+
+    private static List<String> locations(List<Problem> problems) {
+        return problems.stream().map(Problem::getDisplayLocation).toList();
+    }
+
+    @Test
+    void testReuseAcrossSubmissions() throws IOException {
+        List<PMDCheck> checks = List.of(new DiamondOperatorCheck());
+        ClassLoader classLoader = this.getClass().getClassLoader();
+        PMDSession session = new PMDSession(checks, LANGUAGE_VERSION, classLoader);
+
+        assertTrue(session.isFor(checks, LANGUAGE_VERSION, classLoader));
+        assertFalse(session.isFor(List.of(new DiamondOperatorCheck()), LANGUAGE_VERSION, classLoader));
+        assertFalse(session.isFor(checks, LanguageRegistry.PMD.getLanguageById("java").getVersion("21"), classLoader));
+
+        List<Problem> first = session.analyze(createSource(), null);
+        List<Problem> second = session.analyze(createSource(), null);
+
+        assertEquals(16, first.size());
+        assertEquals(locations(first), locations(second));
+        assertSame(checks.get(0), second.get(0).getCheck());
+    }
+
+    @Test
+    void testCache(@TempDir Path directory) throws IOException {
+        ClassLoader classLoader = this.getClass().getClassLoader();
+        PMDCache cache = new PMDCache(directory);
+
+        List<Problem> analyzed = new PMDSession(List.of(new DiamondOperatorCheck()), LANGUAGE_VERSION, classLoader)
+            .analyze(createSource(), cache);
+        assertEquals(8, countEntries(directory));
+
+        // the entries do not depend on the instances of the checks
+        List<PMDCheck> checks = List.of(new DiamondOperatorCheck());
+        List<Problem> restored = new PMDSession(checks, LANGUAGE_VERSION, classLoader)
+            .analyze(createSource(), cache);
+        assertEquals(8, countEntries(directory));
+
+        assertEquals(locations(analyzed), locations(restored));
+        assertSame(checks.get(0), restored.get(0).getCheck());
+        assertEquals(analyzed.get(0).getExplanation(), restored.get(0).getExplanation());
+
+        // only the new file is analyzed
+        new PMDSession(checks, LANGUAGE_VERSION, classLoader).analyze(createSource(9), cache);
+        assertEquals(9, countEntries(directory));
+    }
+
+    private static long countEntries(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".pmd")).count();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package de.firemage.autograder.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Creates an index of the checks and implementations in the compiled module, so they do not have to be
+ * found by scanning the classpath at runtime.
+ * <p>
+ * The index consists of the following resources:
+ * <ul>
+ *     <li>{@value #CHECKS_RESOURCE}: one line per enabled check in the form {@code class=PROBLEM_TYPE,...}</li>
+ *     <li>{@value #IMPLEMENTATIONS_RESOURCE}{@code <type>}: the classes that implement the type, one per line</li>
+ * </ul>
+ * The types are referenced by name, so the processor does not depend on the modules it is used in.
+ * <p>
+ * An incremental compilation only passes the changed types to the processor, so the entries of the existing
+ * index are kept for all types that still exist and were not compiled again.
+ */
+@SupportedAnnotationTypes("*")
+public class IndexProcessor extends AbstractProcessor {
+    static final String CHECKS_RESOURCE = "META-INF/autograder/checks";
+    static final String IMPLEMENTATIONS_RESOURCE = "META-INF/autograder/implementations/";
+
+    private static final String EXECUTABLE_CHECK = "de.firemage.autograder.core.check.ExecutableCheck";
+    private static final List<String> INDEXED_TYPES = List.of(
+        "de.firemage.autograder.core.CodeLinter",
+        "de.firemage.autograder.api.AbstractLinter",
+        "de.firemage.autograder.api.AbstractTempLocation",
+        "de.firemage.autograder.api.AbstractProblemType"
+    );
+
+    private static final Set<ElementKind> INSTANTIABLE_KINDS = EnumSet.of(ElementKind.CLASS, ElementKind.ENUM, ElementKind.RECORD);
+
+    private final Map<String, List<String>> checks = new TreeMap<>();
+    private final Map<String, TreeSet<String>> implementations = new TreeMap<>();
+    // the binary names of all types that were compiled, their entries in an existing index are outdated
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            this.visit(element);
+        }
+
+        if (roundEnv.processingOver()) {
+            this.writeIndex();
+        }
+
+        // other processors might be interested in the same annotations
+        return false;
+    }
+
+    private void visit(Element element) {
+        if (!(element instanceof TypeElement typeElement)) {
+            return;
+        }
+
+        String name = this.processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        this.compiledTypes.add(name);
+
+        if (INSTANTIABLE_KINDS.contains(typeElement.getKind()) && !typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            this.findReportedProblems(typeElement).ifPresent(problems -> this.checks.put(name, problems));
+
+            for (String indexedType : INDEXED_TYPES) {
+                if (this.isSubtypeOf(typeElement, indexedType)) {
+                    this.implementations.computeIfAbsent(indexedType, key -> new TreeSet<>()).add(name);
+                }
+            }
+        }
+
+        for (Element enclosedElement : typeElement.getEnclosedElements()) {
+            this.visit(enclosedElement);
+        }
+    }
+
+    private Optional<List<String>> findReportedProblems(TypeElement typeElement) {
+        for (AnnotationMirror annotation : typeElement.getAnnotationMirrors()) {
+            if (!((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(EXECUTABLE_CHECK)) {
+                continue;
+            }
+
+            List<String> problems = new ArrayList<>();
+            boolean isEnabled = true;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                Object value = entry.getValue().getValue();
+
+                if (key.equals("enabled")) {
+                    isEnabled = (Boolean) value;
+                } else if (key.equals("reportedProblems")) {
+                    for (Object problem : (List<?>) value) {
+                        problems.add(((VariableElement) ((AnnotationValue) problem).getValue()).getSimpleName().toString());
+                    }
+                }
+            }
+
+            return isEnabled ? Optional.of(problems) : Optional.empty();
+        }
+
+        return Optional.empty();
+    }
+
+    private boolean isSubtypeOf(TypeElement typeElement, String superTypeName) {
+        TypeElement superType = this.processingEnv.getElementUtils().getTypeElement(superTypeName);
+        if (superType == null) {
+            return false;
+        }
+
+        var types = this.processingEnv.getTypeUtils();
+        return types.isAssignable(types.erasure(typeElement.asType()), types.erasure(superType.asType()));
+    }
+
+    private void writeIndex() {
+        for (String line : this.readResource(CHECKS_RESOURCE)) {
+            String[] parts = line.split("=", 2);
+            if (parts.length == 2 && this.isStillValid(parts[0])) {
+                this.checks.put(parts[0], parts[1].isEmpty() ? List.of() : List.of(parts[1].split(",")));
+            }
+        }
+
+        for (String indexedType : INDEXED_TYPES) {
+            for (String name : this.readResource(IMPLEMENTATIONS_RESOURCE + indexedType)) {
+                if (this.isStillValid(name)) {
+                    this.implementations.computeIfAbsent(indexedType, key -> new TreeSet<>()).add(name);
+                }
+            }
+        }
+
+        if (!this.checks.isEmpty()) {
+            List<String> lines = new ArrayList<>();
+            this.checks.forEach((check, problems) -> lines.add(check + "=" + String.join(",", problems)));
+            this.writeResource(CHECKS_RESOURCE, lines);
+        }
+
+        this.implementations.forEach((type, names) -> this.writeResource(IMPLEMENTATIONS_RESOURCE + type, List.copyOf(names)));
+    }
+
+    /**
+     * Checks whether the entry of a type in an existing index can be kept.
+     *
+     * @param name the binary name of the type
+     * @return true if the type was not compiled again and still exists
+     */
+    private boolean isStillValid(String name) {
+        return !this.compiledTypes.contains(name)
+            && this.processingEnv.getElementUtils().getTypeElement(name.replace('$', '.')) != null;
+    }
+
+    /**
+     * Reads the lines of a resource from a previous compilation.
+     *
+     * @param path the path of the resource
+     * @return the non-empty lines, or an empty list if the resource does not exist
+     */
+    private List<String> readResource(String path) {
+        try {
+            FileObject resource = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
+            try (BufferedReader reader = new BufferedReader(resource.openReader(true))) {
+                return reader.lines().filter(line -> !line.isBlank()).toList();
+            }
+        } catch (IOException | IllegalArgumentException exception) {
+            // there is no index from a previous compilation
+            return List.of();
+        }
+    }
+
+    private void writeResource(String path, List<String> lines) {
+        try {
+            FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path);
+            try (Writer writer = resource.openWriter()) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException exception) {
+            this.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                "Failed to write %s: %s".formatted(path, exception.getMessage())
+            );
+        }
+    }
+}
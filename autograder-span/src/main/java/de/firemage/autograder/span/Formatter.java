@@ -1,25 +1,38 @@
 package de.firemage.autograder.span;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 
 public class Formatter {
-    private final Highlight highlight;
+    private final List<Highlight> highlights;
     private final boolean showLineNumbers;
     private final Optional<Integer> viewbox;
     private final String lineSeparator;
 
     public Formatter(String lineSeparator, Highlight highlight) {
-        this.highlight = highlight;
-        this.showLineNumbers = true;
-        this.lineSeparator = lineSeparator;
-        this.viewbox = Optional.of(1);
+        this(lineSeparator, List.of(highlight), 1);
     }
 
     public Formatter(String lineSeparator, Highlight highlight, Integer viewbox) {
-        this.highlight = highlight;
+        this(lineSeparator, List.of(highlight), viewbox);
+    }
+
+    /**
+     * Creates a formatter that renders all the given highlights in the same text.
+     * <p>
+     * The text is only traversed once, and the lines that are visible for multiple highlights are only shown once.
+     *
+     * @param lineSeparator the separator between the rendered lines
+     * @param highlights the highlights, which must all be in the same text
+     * @param viewbox the number of lines shown around each highlight, see {@link #viewbox()}, null to show everything
+     */
+    public Formatter(String lineSeparator, List<Highlight> highlights, Integer viewbox) {
+        this.highlights = List.copyOf(highlights);
         this.showLineNumbers = true;
         this.lineSeparator = lineSeparator;
         this.viewbox = Optional.ofNullable(viewbox);
@@ -55,108 +68,165 @@ public class Formatter {
         return this.viewbox.orElse(Integer.MAX_VALUE);
     }
 
-    private Span startView(Text text) {
-        // for example could be 0
-        int highlightStart = this.highlight.span().start().line();
+    /**
+     * Finds the lines that are visible, the views of all highlights that overlap or follow each other are merged.
+     *
+     * @param lastLine the last line of the text
+     * @return the visible lines, each view is a pair of the first and the last line (inclusive)
+     */
+    private List<int[]> views(List<Highlight> highlights, int lastLine) {
+        List<int[]> result = new ArrayList<>();
         // when the viewbox is empty, the entire text is important
         if (this.viewbox.isEmpty()) {
-            return text.span();
+            result.add(new int[] { 0, lastLine });
+            return result;
         }
 
         int viewbox = this.viewbox.get();
-
-        Span span = new Span(
-            new Position(Math.max(highlightStart - viewbox, 0), 0),
-            new Position(Math.max(highlightStart + viewbox + 1, 0), 0)
-        );
-
-        return text.span().relativeIntersection(span);
-    }
-
-    private Span endView(Text text) {
-        int highlightEnd = this.highlight.span().end().line();
-        if (this.viewbox.isEmpty()) {
-            return text.span();
+        List<int[]> views = new ArrayList<>();
+        for (Highlight highlight : highlights) {
+            // the start and the end of a highlight are visible, the lines in between might be skipped
+            int start = highlight.span().start().line();
+            int end = highlight.span().end().line();
+            views.add(new int[] { Math.max(start - viewbox, 0), Math.min(start + viewbox, lastLine) });
+            views.add(new int[] { Math.max(end - viewbox, 0), Math.min(end + viewbox, lastLine) });
         }
+        views.sort(Comparator.comparingInt((int[] view) -> view[0]));
 
-        int viewbox = this.viewbox.get();
+        for (int[] view : views) {
+            if (view[0] > view[1]) {
+                continue;
+            }
 
-        Span span = new Span(
-            new Position(Math.max(highlightEnd - viewbox, this.startView(text).end().line()), 0),
-            new Position(Math.max(highlightEnd + viewbox + 1, 0), 0)
-        );
+            int[] previous = result.isEmpty() ? null : result.get(result.size() - 1);
+            if (previous != null && view[0] <= previous[1] + 1) {
+                previous[1] = Math.max(previous[1], view[1]);
+            } else {
+                result.add(view.clone());
+            }
+        }
 
-        return text.span().relativeIntersection(span);
+        return result;
     }
 
-    private List<String> renderView(Text text, RenderState renderState) {
-        List<String> result = new ArrayList<>();
+    /**
+     * Splits the highlights into layers, so that the multiline highlights in a layer do not overlap.
+     * <p>
+     * The inline highlights are all in the first layer. Each layer is rendered separately.
+     */
+    private List<List<Highlight>> layers() {
+        List<List<Highlight>> layers = new ArrayList<>();
+        List<Integer> lastLines = new ArrayList<>();
+
+        List<Highlight> sorted = new ArrayList<>(this.highlights);
+        sorted.sort(Comparator.comparing((Highlight highlight) -> highlight.span().start()));
+        for (Highlight highlight : sorted) {
+            int layer = 0;
+            if (highlight.isMultiline()) {
+                while (layer < layers.size() && lastLines.get(layer) >= highlight.span().start().line()) {
+                    layer += 1;
+                }
+            }
 
-        if (text.isEmpty()) {
-            return result;
+            if (layer == layers.size()) {
+                layers.add(new ArrayList<>());
+                lastLines.add(-1);
+            }
+
+            layers.get(layer).add(highlight);
+            if (highlight.isMultiline()) {
+                lastLines.set(layer, highlight.span().end().line());
+            }
         }
 
-        for (Line line : text.lines()) {
-            result.add(this.renderSourceLine(
-                line,
-                renderState.lineNumberWidth(),
-                renderState.offset(),
-                renderState.isInMultiline()
-            ));
+        return layers;
+    }
 
+    private void renderLine(Line line, List<Highlight> highlights, RenderState renderState, StringJoiner result) {
+        result.add(this.renderSourceLine(
+            line,
+            renderState.lineNumberWidth(),
+            renderState.offset(),
+            renderState.isInMultiline()
+        ));
+
+        for (Highlight highlight : highlights) {
             int finalOffset;
-            if (this.highlight.span().isInline()) {
+            boolean isInsideMultiline = false;
+            if (highlight.span().isInline()) {
                 finalOffset = renderState.offset();
-            } else if (this.highlight.isMultilineStart(line.number())) {
+                isInsideMultiline = renderState.isInMultiline();
+            } else if (highlight.isMultilineStart(line.number())) {
                 finalOffset = renderState.enterMultilineHighlight();
-            } else if (this.highlight.isMultilineEnd(line.number())) {
+            } else if (highlight.isMultilineEnd(line.number())) {
                 finalOffset = renderState.exitMultilineHighlight();
             } else {
                 finalOffset = renderState.offset();
             }
 
-            this.highlight.render(line.number()).ifPresent(highlight -> {
-                result.add(this.renderLine(Optional.empty(), renderState.lineNumberWidth(), finalOffset, highlight));
-            });
+            boolean prefixWithMultiline = isInsideMultiline;
+            highlight.render(line.number()).ifPresent(content -> result.add(this.renderLine(
+                Optional.empty(),
+                renderState.lineNumberWidth(),
+                finalOffset,
+                prefixWithMultiline ? "| " + content : content
+            )));
         }
-
-        return result;
     }
 
-    /**
-     * Renders the given text of source code.
-     *
-     * @param text the text to highlight
-     * @return the highlighted text
-     */
-    public String render(Text text) {
-        StringJoiner result = new StringJoiner(this.lineSeparator);
+    private void renderLayer(Text text, List<Highlight> highlights, StringJoiner result) {
+        // the highlights that start or end in a line, in the order in which they are rendered below the line
+        Map<Integer, List<Highlight>> highlightsByLine = new HashMap<>();
+        boolean hasMultiline = false;
+        for (Highlight highlight : highlights) {
+            highlightsByLine.computeIfAbsent(highlight.span().start().line(), key -> new ArrayList<>()).add(highlight);
+            if (highlight.isMultiline()) {
+                highlightsByLine.computeIfAbsent(highlight.span().end().line(), key -> new ArrayList<>()).add(highlight);
+                hasMultiline = true;
+            }
+        }
 
         int offset = 0;
-        if (this.highlight.isMultiline()) {
+        if (hasMultiline) {
             offset = 2;
         }
 
-        int lineNumberWidth = text.lineNumberWidth();
-        RenderState renderState = new RenderState(offset, lineNumberWidth);
+        RenderState renderState = new RenderState(offset, text.lineNumberWidth());
 
-        Span startView = this.startView(text);
-        Span endView = this.endView(text);
+        Position end = text.span().end();
+        int lastLine = end.column() == 0 ? end.line() - 1 : end.line();
+        List<int[]> views = this.views(highlights, lastLine);
+        for (int i = 0; i < views.size(); i++) {
+            int[] view = views.get(i);
+            if (i > 0) {
+                result.add(this.renderSkipLine(renderState.lineNumberWidth(), renderState.isInMultiline()));
+            }
 
-        for (String line : this.renderView(text.subText(startView), renderState)) {
-            result.add(line);
-        }
+            Text viewText = text.subText(text.span().relativeIntersection(new Span(
+                new Position(view[0], 0),
+                new Position(view[1] + 1, 0)
+            )));
+            if (viewText.isEmpty()) {
+                continue;
+            }
 
-        if (startView.contains(endView)) {
-            return result.toString();
+            for (Line line : viewText.lines()) {
+                this.renderLine(line, highlightsByLine.getOrDefault(line.number(), List.of()), renderState, result);
+            }
         }
+    }
 
-        if (!startView.isFollowedBy(endView)) {
-            result.add(this.renderSkipLine(renderState.lineNumberWidth(), renderState.isInMultiline()));
-        }
+    /**
+     * Renders the given text of source code.
+     *
+     * @param text the text to highlight
+     * @return the highlighted text
+     */
+    public String render(Text text) {
+        StringJoiner result = new StringJoiner(this.lineSeparator);
 
-        for (String line : this.renderView(text.subText(endView), renderState)) {
-            result.add(line);
+        for (List<Highlight> layer : this.layers()) {
+            this.renderLayer(text, layer, result);
         }
 
         return result.toString();
@@ -2,19 +2,72 @@ package de.firemage.autograder.span;
 
 import com.google.common.collect.Streams;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Represents a text with a span.
- *
- * @param text the text
- * @param span the span of the text
+ * <p>
+ * The offsets at which the lines of the text start are computed once, so that a position in the text
+ * can be converted to an offset without scanning the text again.
  */
-public record Text(String text, Span span) {
+public final class Text {
+    private final String text;
+    private final Span span;
+    // lineStarts[i] is the offset of the i-th line relative to the start of the text
+    private final int[] lineStarts;
+
+    /**
+     * Creates a new text.
+     *
+     * @param text the text
+     * @param span the span of the text
+     */
+    public Text(String text, Span span) {
+        this(text, span, lineStartsOf(text));
+    }
+
+    private Text(String text, Span span, int[] lineStarts) {
+        this.text = text;
+        this.span = span;
+        this.lineStarts = lineStarts;
+    }
+
     public static Text fromString(int lineNumber, String text) {
-        return new Text(text, Span.of(lineNumber, text));
+        int[] lineStarts = lineStartsOf(text);
+        int lastLine = lineStarts.length - 1;
+
+        return new Text(text, new Span(
+            new Position(lineNumber, 0),
+            new Position(lineNumber + lastLine, text.length() - lineStarts[lastLine])
+        ), lineStarts);
+    }
+
+    private static int[] lineStartsOf(String text) {
+        int[] result = new int[16];
+        int count = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, result.length * 2);
+                }
+                result[count] = i + 1;
+                count += 1;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    public String text() {
+        return this.text;
+    }
+
+    public Span span() {
+        return this.span;
     }
 
     public List<Line> lines() {
@@ -30,11 +83,39 @@ public record Text(String text, Span span) {
         return this.text.isEmpty();
     }
 
+    /**
+     * Converts a position relative to the start of this text to an offset in the text.
+     *
+     * @param position the position, where line 0 is the first line of this text
+     * @return the offset
+     */
+    private int offset(Position position) {
+        if (position.line() < 0 || position.line() >= this.lineStarts.length) {
+            throw new IllegalArgumentException("%s is not in string".formatted(position));
+        }
+
+        int result = this.lineStarts[position.line()] + position.column();
+        // NOTE: this might allow invalid positions
+        if (result > this.text.length()) {
+            throw new IllegalArgumentException("%s is not in string".formatted(position));
+        }
+
+        return result;
+    }
+
     public Text subText(Span span) {
-        return new Text(
-            this.text.substring(span.start().offset(this.text), span.end().offset(this.text)),
-            span
-        );
+        int start = this.offset(span.start());
+        int end = this.offset(span.end());
+
+        // the lines of the sub text are a part of the lines of this text
+        int firstLine = span.start().line();
+        int lastLine = Math.max(firstLine, span.end().line());
+        int[] lineStarts = new int[lastLine - firstLine + 1];
+        for (int i = 1; i < lineStarts.length; i++) {
+            lineStarts[i] = this.lineStarts[firstLine + i] - start;
+        }
+
+        return new Text(this.text.substring(start, end), span, lineStarts);
     }
 
     public int lineNumberWidth() {
@@ -48,4 +129,26 @@ public record Text(String text, Span span) {
     private static int stringLength(int number) {
         return String.valueOf(number).length();
     }
+
+    @Override
+    public boolean equals(Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (!(otherObject instanceof Text otherText)) {
+            return false;
+        }
+
+        return this.text.equals(otherText.text) && this.span.equals(otherText.span);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.text, this.span);
+    }
+
+    @Override
+    public String toString() {
+        return "Text[text=%s, span=%s]".formatted(this.text, this.span);
+    }
 }
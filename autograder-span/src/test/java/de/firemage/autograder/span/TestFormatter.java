@@ -2,6 +2,7 @@ package de.firemage.autograder.span;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -188,4 +189,81 @@ class TestFormatter {
             formatter.render(Text.fromString(0, sourceCode))
         );
     }
+
+    @Test
+    void testMultipleHighlightsMergeViews() {
+        String sourceCode = """
+        public class Test {
+            public static void main(String[] args) {
+                int a = 1;
+                int b = 2;
+                int c = 3;
+                int d = 4;
+                int e = 5;
+                System.out.println(a + b + c + d + e);
+            }
+        }
+        """;
+
+        Formatter formatter = new Formatter(
+            "\n",
+            List.of(
+                new Highlight(new Span(new Position(7, 27), new Position(7, 28)), Optional.of("third"), Style.ERROR),
+                new Highlight(new Span(new Position(0, 13), new Position(0, 17)), Optional.of("first"), Style.ERROR),
+                new Highlight(new Span(new Position(2, 12), new Position(2, 13)), Optional.of("second"), Style.WARNING)
+            ),
+            1
+        );
+
+        assertEquals(
+            """
+             1 | public class Test {
+               |              ^^^^ first
+             2 |     public static void main(String[] args) {
+             3 |         int a = 1;
+               |             ^ second
+             4 |         int b = 2;
+            ..\s|\s
+             7 |         int e = 5;
+             8 |         System.out.println(a + b + c + d + e);
+               |                            ^ third
+             9 |     }\
+            """,
+            formatter.render(Text.fromString(0, sourceCode))
+        );
+    }
+
+    @Test
+    void testInlineHighlightInMultilineHighlight() {
+        String sourceCode = """
+        public class Test {
+            public static void main(String[] args) {
+                System.out.println(1);
+            }
+        }
+        """;
+
+        Formatter formatter = new Formatter(
+            "\n",
+            List.of(
+                new Highlight(new Span(new Position(1, 44), new Position(3, 5)), Optional.of("the method"), Style.ERROR),
+                new Highlight(new Span(new Position(2, 27), new Position(2, 28)), Optional.of("the argument"), Style.NOTE)
+            ),
+            null
+        );
+
+        assertEquals(
+            """
+             1 |   public class Test {
+             2 |       public static void main(String[] args) {
+               |  ____________________________________________^
+             3 | |         System.out.println(1);
+               | |                            - the argument
+             4 | |     }
+               | |_____^ the method
+             5 |   }\
+            """,
+            formatter.render(Text.fromString(0, sourceCode))
+        );
+    }
 }
@@ -0,0 +1,38 @@
+package de.firemage.autograder.span;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TestText {
+    private static final String SOURCE_CODE = """
+        public class Test {
+            public static void main(String[] args) {
+                System.out.println(1);
+            }
+        }""";
+
+    @Test
+    void testFromStringSpan() {
+        assertEquals(Span.of(0, SOURCE_CODE), Text.fromString(0, SOURCE_CODE).span());
+        assertEquals(Span.of(3, SOURCE_CODE + "\n"), Text.fromString(3, SOURCE_CODE + "\n").span());
+        assertEquals(Span.of(0, ""), Text.fromString(0, "").span());
+    }
+
+    @Test
+    void testSubTextMatchesOffsets() {
+        Text text = Text.fromString(0, SOURCE_CODE);
+
+        Span span = new Span(new Position(1, 4), new Position(3, 5));
+        Text subText = text.subText(span);
+        assertEquals(
+            SOURCE_CODE.substring(span.start().offset(SOURCE_CODE), span.end().offset(SOURCE_CODE)),
+            subText.text()
+        );
+        assertEquals(span, subText.span());
+
+        // the line starts of the sub text are relative to its first line
+        Span inner = new Span(new Position(1, 8), new Position(1, 14));
+        assertEquals("System", subText.subText(inner).text());
+    }
+}
@@ -0,0 +1,15 @@
+#!/bin/sh
+# Runs the command line application with the class data sharing archive, if it has been created with
+# `mvn package -Pcds`. The archive only matches the jar and the JVM it has been created with,
+# otherwise it is ignored. Set AUTOGRADER_CDS=false to run without the archive.
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR="$DIR/autograder-cmd/target/autograder-cmd.jar"
+ARCHIVE="$DIR/autograder-cmd/target/autograder-cmd.jsa"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [ -f "$ARCHIVE" ] && [ "$AUTOGRADER_CDS" != "false" ]; then
+    # a mismatching archive results in warnings on stdout, which would break the json output
+    exec "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -Xlog:cds=off -Xlog:cds+dynamic=off -jar "$JAR" "$@"
+fi
+
+exec "$JAVA" -jar "$JAR" "$@"